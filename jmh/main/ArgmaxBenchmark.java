@@ -0,0 +1,112 @@
+/**
+ * ArgmaxBenchmark
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * JMH benchmark of taking the greatest value and best action of every state, one state at a time and in batches
+ */
+
+package main;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@OperationsPerInvocation(ArgmaxBenchmark.STATES)
+public class ArgmaxBenchmark {
+	//Constants
+	static final int STATES = 1 << 20;		//States in the table, so each result is per state
+	private static final int RUN = 1024;	//States per batch, one row of a 1024 x 1024 grid
+	
+	//Attributes
+	private FlatQTable qValues;			//Table of values drawn from a few levels so ties are common
+	private double[] values;			//Array backing the table
+	private double[] maxes;				//Greatest value of each state
+	private int[] actions;				//Best action of each state
+	private VectorBatch vectorMax;		//Vector API batch, used directly whatever the vector length
+	
+	/**
+	 * Fill the table
+	 */
+	@Setup
+	public void setup() {
+		qValues = new FlatQTable(STATES, Model.NUM_ACTIONS);
+		values = qValues.getValues();
+		Rng rng = new Rng(0);
+		for (int i = 0; i < values.length; i++)
+			values[i] = rng.nextInt(4);
+		maxes = new double[STATES];
+		actions = new int[STATES];
+		vectorMax = new VectorBatch();
+	}
+	
+	/**
+	 * Take the greatest value of each state one at a time
+	 * @return Greatest values
+	 */
+	@Benchmark
+	public double[] maxScalar() {
+		for (int state = 0; state < STATES; state++)
+			maxes[state] = qValues.max(state);
+		return maxes;
+	}
+	
+	/**
+	 * Take the greatest value of each state in batches, comparing pairs of actions
+	 * @return Greatest values
+	 */
+	@Benchmark
+	public double[] maxPairs() {
+		for (int start = 0; start < STATES; start += RUN)
+			FlatQTable.maxPairs(values, start, RUN, maxes, start);
+		return maxes;
+	}
+	
+	/**
+	 * Take the greatest value of each state in batches with the Vector API
+	 * @return Greatest values
+	 */
+	@Benchmark
+	public double[] maxVector() {
+		for (int start = 0; start < STATES; start += RUN)
+			vectorMax.max(values, start, RUN, maxes, start);
+		return maxes;
+	}
+	
+	/**
+	 * Take the best action of each state one at a time
+	 * @return Best actions
+	 */
+	@Benchmark
+	public int[] argmaxScalar() {
+		for (int state = 0; state < STATES; state++)
+			actions[state] = qValues.argmax(state);
+		return actions;
+	}
+	
+	/**
+	 * Take the best action of each state in batches, comparing pairs of actions
+	 * @return Best actions
+	 */
+	@Benchmark
+	public int[] argmaxPairs() {
+		for (int start = 0; start < STATES; start += RUN)
+			FlatQTable.argmaxPairs(values, start, RUN, actions, start);
+		return actions;
+	}
+}
@@ -0,0 +1,52 @@
+/**
+ * BenchmarkMaps
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Maps the JMH benchmarks are parameterized over, by name
+ */
+
+package main;
+
+import java.io.File;
+import java.io.IOException;
+
+class BenchmarkMaps {
+	//Constants
+	static final int EPISODES = 200;			//Episodes written to the first line of generated maps
+	
+	/**
+	 * Get the file a map is stored in, generating it into a temporary file if needed
+	 * A map is either the name of a file in src/main, like basic, or a layout followed by its side length, like random1024
+	 * @param map Name of the map
+	 * @return Name of the environment file
+	 */
+	static String file(String map) throws IOException {
+		File stored = new File("src/main/" + map + ".env");
+		if (stored.exists())
+			return stored.getPath();
+		
+		int split = 0;
+		while (split < map.length() && !Character.isDigit(map.charAt(split)))
+			split++;
+		MapGenerator.Layout layout = MapGenerator.Layout.valueOf(map.substring(0, split).toUpperCase());
+		int size = Integer.parseInt(map.substring(split));
+		
+		File file = File.createTempFile(map, ".env");
+		file.deleteOnExit();
+		MapGenerator.write(new MapGenerator(size).generate(layout, size, size), EPISODES, file.getPath());
+		return file.getPath();
+	}
+	
+	/**
+	 * Load a map
+	 * @param map Name of the map
+	 * @return Grid of the map
+	 */
+	static Grid grid(String map) throws IOException {
+		String filename = file(map);
+		Grid grid = new EnvLoader(filename).getGrid();
+		if (!filename.startsWith("src"))
+			new File(filename).delete();
+		return grid;
+	}
+}
@@ -0,0 +1,64 @@
+/**
+ * LoadBenchmark
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * JMH benchmark of streaming an environment file into a Grid
+ */
+
+package main;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoadBenchmark {
+	//Attributes
+	@Param({"plain", "basic", "random256", "random1024", "random4096"})
+	public String map;					//Name of the map to load
+	private String filename;			//File the map is stored in
+	
+	/**
+	 * Find or generate the file to load
+	 */
+	@Setup
+	public void setup() throws IOException {
+		filename = BenchmarkMaps.file(map);
+	}
+	
+	/**
+	 * Delete the file if it was generated
+	 */
+	@TearDown
+	public void tearDown() {
+		if (!filename.startsWith("src"))
+			new File(filename).delete();
+	}
+	
+	/**
+	 * Load the file
+	 * @return Loaded grid
+	 */
+	@Benchmark
+	public Grid load() throws IOException {
+		return new EnvLoader(filename).getGrid();
+	}
+}
@@ -0,0 +1,60 @@
+/**
+ * PathBenchmark
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * JMH benchmark of following the greedy policy from a random start on a solved map
+ */
+
+package main;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PathBenchmark {
+	//Attributes
+	@Param({"plain", "basic", "random256", "random1024"})
+	public String map;					//Name of the map to solve, larger maps take too long to solve
+	private Model model;				//Solved model
+	private int[] starts;				//States a path can start from
+	private Rng rng;					//Picks the start of each path
+	
+	/**
+	 * Load and solve the map
+	 */
+	@Setup
+	public void setup() throws IOException {
+		model = new Model(BenchmarkMaps.grid(map), BenchmarkMaps.EPISODES);
+		new ValueIteration(model, 1e-3).solveInPlace();
+		starts = model.getNonTerminalStates();
+		rng = new Rng(0);
+	}
+	
+	/**
+	 * Follow the greedy path from a random start
+	 * @return Cells along the path
+	 */
+	@Benchmark
+	public ArrayList<int[]> path() {
+		int state = starts[rng.nextInt(starts.length)];
+		return model.getShortestPath(state / model.getCols(), state % model.getCols());
+	}
+}
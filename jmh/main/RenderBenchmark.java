@@ -0,0 +1,71 @@
+/**
+ * RenderBenchmark
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * JMH benchmark of drawing a viewport of the Environment off-screen
+ */
+
+package main;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RenderBenchmark {
+	//Constants
+	private static final int RENDERED_PIXELS = 4096;	//Side length of the whole grid when rendered, for grids that fit
+	private static final int VIEWPORT_PIXELS = 1024;	//Side length of the part of the grid drawn each frame
+	
+	//Attributes
+	@Param({"plain", "basic", "random256", "random1024", "random4096"})
+	public String map;					//Name of the map to draw
+	private Environment env;			//Environment to draw
+	private Rectangle viewport;			//Part of the environment drawn
+	private BufferedImage frame;		//Image drawn into
+	
+	/**
+	 * Create the environment and the frame it is drawn into
+	 */
+	@Setup
+	public void setup() throws IOException {
+		System.setProperty("java.awt.headless", "true");
+		Grid grid = BenchmarkMaps.grid(map);
+		int pixelsPerCell = Math.max(1, Math.min(50, RENDERED_PIXELS / Math.max(grid.getRows(), grid.getCols())));
+		env = new Environment(new Model(grid, BenchmarkMaps.EPISODES), pixelsPerCell);
+		viewport = new Rectangle(0, 0, Math.min(env.getWidth(), VIEWPORT_PIXELS), Math.min(env.getHeight(), VIEWPORT_PIXELS));
+		frame = new BufferedImage(viewport.width, viewport.height, BufferedImage.TYPE_INT_RGB);
+	}
+	
+	/**
+	 * Draw the viewport
+	 * @return Frame drawn into
+	 */
+	@Benchmark
+	public BufferedImage render() {
+		Graphics2D g2 = frame.createGraphics();
+		g2.setClip(viewport);
+		env.paintComponent(g2);
+		g2.dispose();
+		return frame;
+	}
+}
@@ -0,0 +1,83 @@
+/**
+ * TrainBenchmark
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * JMH benchmark of the steps per second Model.train() runs at, with and without a training listener
+ */
+
+package main;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TrainBenchmark {
+	//Constants
+	private static final int TRAIN_EPISODES = 200;				//Fewest episodes per training run
+	private static final int TRAIN_CELL_EPISODES = 1 << 20;		//Cells times episodes per training run, so small maps train long enough to time
+	private static final int TRAIN_EPISODE_STEPS = 10000;		//Step limit of a training episode
+	
+	//Attributes
+	@Param({"plain", "basic", "random256", "random1024", "random4096"})
+	public String map;					//Name of the map to train on
+	@Param({"false", "true"})
+	public boolean metrics;				//Whether to report training to a TrainingMetrics
+	private Grid grid;					//Grid of the map
+	private Model model;				//Untrained model for the next run
+	
+	//Steps taken, which JMH reports per second next to the runs per second
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Steps {
+		public long steps;
+	}
+	
+	/**
+	 * Load the map
+	 */
+	@Setup(Level.Trial)
+	public void loadMap() throws IOException {
+		grid = BenchmarkMaps.grid(map);
+	}
+	
+	/**
+	 * Create an untrained model before each run, outside of the timing
+	 */
+	@Setup(Level.Invocation)
+	public void createModel() {
+		int episodes = Math.max(TRAIN_EPISODES, TRAIN_CELL_EPISODES / (grid.getRows() * grid.getCols()));
+		model = new Model(grid, episodes);
+		model.setSeed(0);
+		model.setMaxEpisodeSteps(TRAIN_EPISODE_STEPS);
+		model.setTrainingListener(metrics ? new TrainingMetrics() : null);
+	}
+	
+	/**
+	 * Train the model from zero
+	 * @param steps Counter of the steps taken
+	 */
+	@Benchmark
+	public void train(Steps steps) {
+		model.train();
+		steps.steps += model.getTrainingSteps();
+	}
+}
@@ -0,0 +1,325 @@
+/**
+ * Benchmarks
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Measurements that do not fit JMH: peak heap, frames drawn between training episodes and warm-start retraining
+ * Training, path extraction, loading, rendering and max/argmax are timed by the JMH benchmarks in jmh (gradle jmh)
+ */
+
+package main;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+
+public class Benchmarks {
+	//Constants
+	private static final String[] FILE_MAPS = new String[] {"src/main/plain.env", "src/main/basic.env"};	//Maps read from files
+	private static final int[] DEFAULT_SIZES = new int[] {256, 1024, 4096};	//Side lengths of the generated grids
+	private static final int RENDERED_PIXELS = 4096;						//Side length of the whole grid when rendered, for grids that fit
+	private static final int VIEWPORT_PIXELS = 1024;						//Side length of the part of the grid drawn each frame
+	private static final int RETRAIN_SIZE = 256;							//Side length of the grid changed by the retrain benchmark
+	private static final int TRAIN_EPISODES = 200;							//Episodes of each benchmarked model
+	private static final int TRAIN_EPISODE_STEPS = 10000;					//Step limit of a training episode
+	private static final double THRESHOLD = 1e-6;							//Convergence threshold of the planners
+	
+	//A single timed run of a benchmark
+	private interface Trial {
+		/**
+		 * Run the benchmark once
+		 * @return Score of the run in the benchmark's unit
+		 */
+		public double run() throws Exception;
+	}
+	
+	//Attributes
+	private int warmup;							//Untimed runs before measuring
+	private int iterations;						//Timed runs per benchmark
+	private ArrayList<String> results;			//Result of each benchmark as a JSON object
+	
+	/**
+	 * Create a benchmark suite
+	 * @param warmup Untimed runs before measuring
+	 * @param iterations Timed runs per benchmark
+	 */
+	public Benchmarks(int warmup, int iterations) {
+		this.warmup = warmup;
+		this.iterations = iterations;
+		this.results = new ArrayList<String>();
+	}
+	
+	/**
+	 * Run the benchmarks
+	 * Options: --sizes 256,1024,4096  --layout random|maze|rooms  --warmup 3  --iterations 5  --json benchmarks.json
+	 * @param args Command line options
+	 */
+	public static void main(String[] args) throws Exception {
+		System.setProperty("java.awt.headless", "true");
+		int[] sizes = DEFAULT_SIZES;
+		MapGenerator.Layout layout = MapGenerator.Layout.RANDOM;
+		int warmup = 3;
+		int iterations = 5;
+		String json = "benchmarks.json";
+		
+		//Read the options
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			switch (args[i]) {
+				case "--sizes":
+					String[] values = args[i + 1].split(",");
+					sizes = new int[values.length];
+					for (int s = 0; s < values.length; s++)
+						sizes[s] = Integer.parseInt(values[s].trim());
+					break;
+				case "--layout":
+					layout = MapGenerator.Layout.valueOf(args[i + 1].toUpperCase());
+					break;
+				case "--warmup":
+					warmup = Integer.parseInt(args[i + 1]);
+					break;
+				case "--iterations":
+					iterations = Integer.parseInt(args[i + 1]);
+					break;
+				case "--json":
+					json = args[i + 1];
+					break;
+				default:
+					Util.println("Benchmarks: Unknown option", args[i]);
+			}
+		}
+		
+		Benchmarks benchmarks = new Benchmarks(warmup, iterations);
+		for (String filename : FILE_MAPS) {
+			EnvLoader loader = new EnvLoader(filename);
+			String name = new File(filename).getName().replace(".env", "");
+			benchmarks.runAll(name, loader.getGrid());
+		}
+		for (int size : sizes) {
+			File file = File.createTempFile("benchmark", ".env");
+			file.deleteOnExit();
+			Grid grid = new MapGenerator(size).generate(layout, size, size);
+			MapGenerator.write(grid, TRAIN_EPISODES, file.getPath());
+			
+			String map = layout.name().toLowerCase() + size;
+			benchmarks.benchmarkPeakHeap(map, file.getPath());
+			benchmarks.runAll(map, grid);
+			file.delete();
+		}
+		benchmarks.benchmarkRetrain(RETRAIN_SIZE, 10);
+		
+		benchmarks.writeJson(json);
+	}
+	
+	/**
+	 * Run every benchmark that fits the size of a map
+	 * @param map Name of the map
+	 * @param grid Grid of the map
+	 */
+	public void runAll(String map, Grid grid) throws Exception {
+		benchmarkRenderDirty(map, grid);
+		benchmarkHeatmap(map, grid);
+	}
+	
+	/**
+	 * Measure how long drawing the cells of a viewport that an episode of training changed takes
+	 * The episode between frames is not timed, which JMH cannot leave out of a benchmark this short
+	 * @param map Name of the map
+	 * @param grid Grid of the map
+	 */
+	public void benchmarkRenderDirty(String map, Grid grid) throws Exception {
+		Model model = new Model(copy(grid), TRAIN_EPISODES);
+		int pixelsPerCell = Math.max(1, Math.min(50, RENDERED_PIXELS / Math.max(grid.getRows(), grid.getCols())));
+		Environment env = new Environment(model, pixelsPerCell);
+		Rectangle viewport = new Rectangle(0, 0, Math.min(env.getWidth(), VIEWPORT_PIXELS), Math.min(env.getHeight(), VIEWPORT_PIXELS));
+		BufferedImage frame = new BufferedImage(viewport.width, viewport.height, BufferedImage.TYPE_INT_RGB);
+		env.refresh();
+		
+		EpisodeStats stats = new EpisodeStats();
+		model.setMaxEpisodeSteps(TRAIN_EPISODE_STEPS);
+		measure("renderDirty", map, grid.getRows() * grid.getCols(), "ms/frame", () -> {
+			model.runEpisode(model.getQValues(), model.getRng(), stats, 0);
+			Graphics2D g2 = frame.createGraphics();
+			long startTime = System.nanoTime();
+			env.refresh();
+			if (env.getDirtyRegion() != null && env.getDirtyRegion().intersects(viewport)) {
+				g2.setClip(env.getDirtyRegion().intersection(viewport));
+				env.paintComponent(g2);
+			}
+			double millis = (System.nanoTime() - startTime) / 1e6;
+			g2.dispose();
+			return millis;
+		});
+	}
+	
+	/**
+	 * Measure how long drawing the whole heatmap takes, then how long redrawing it after an episode takes
+	 * @param map Name of the map
+	 * @param grid Grid of the map
+	 */
+	public void benchmarkHeatmap(String map, Grid grid) throws Exception {
+		Model model = new Model(copy(grid), TRAIN_EPISODES);
+		new Heatmap(model, 1, 1, false).update();
+		
+		measure("heatmap", map, grid.getRows() * grid.getCols(), "ms/frame", () -> {
+			Heatmap heatmap = new Heatmap(model, 1, 1, false);
+			long startTime = System.nanoTime();
+			heatmap.update();
+			return (System.nanoTime() - startTime) / 1e6;
+		});
+		
+		//Train an episode between frames so only the blocks it changed are redrawn
+		Heatmap heatmap = new Heatmap(model, 1, 1, false);
+		heatmap.update();
+		EpisodeStats stats = new EpisodeStats();
+		model.setMaxEpisodeSteps(TRAIN_EPISODE_STEPS);
+		measure("heatmapDirty", map, grid.getRows() * grid.getCols(), "ms/frame", () -> {
+			model.runEpisode(model.getQValues(), model.getRng(), stats, 0);
+			long startTime = System.nanoTime();
+			heatmap.update();
+			return (System.nanoTime() - startTime) / 1e6;
+		});
+	}
+	
+	/**
+	 * Measure the peak heap taken to load an environment file
+	 * @param map Name of the map
+	 * @param filename Name of the file to load
+	 */
+	public void benchmarkPeakHeap(String map, String filename) throws IOException {
+		//Load the file with the heap as empty as possible
+		System.gc();
+		long baseline = resetPeakHeap();
+		Grid grid = new EnvLoader(filename).getGrid();
+		double peak = (getPeakHeap() - baseline) / (double) (1 << 20);
+		
+		record("loadPeakHeap", map, grid.getRows() * grid.getCols(), "MB", new double[] {peak});
+	}
+	
+	/**
+	 * Measure how many updates warm-starting from the old Q-table saves after a few cells of a solved grid change
+	 * @param size Side length of the grid
+	 * @param numChanges Number of cells to toggle between path and obstacle
+	 */
+	public void benchmarkRetrain(int size, int numChanges) {
+		Rng rng = new Rng(size);
+		Model model = new Model(new MapGenerator(size).random(size, size, MapGenerator.DEFAULT_DENSITY), TRAIN_EPISODES);
+		new PrioritizedSweeping(model, THRESHOLD).solve();
+		
+		//Toggle random cells, leaving the goal alone
+		int[][] changes = new int[numChanges][];
+		for (int i = 0; i < numChanges; i++) {
+			int row = rng.nextInt(size);
+			int col = rng.nextInt(size - 1);
+			byte cell = model.getRewards().getCell(row, col) == Grid.PATH ? Grid.OBSTACLE : Grid.PATH;
+			changes[i] = new int[] {row, col, cell};
+		}
+		
+		//Warm start from the solved table, then solve the changed grid from zero
+		long warm = model.retrain(changes, THRESHOLD);
+		long cold = new PrioritizedSweeping(new Model(copy(model.getRewards()), TRAIN_EPISODES), THRESHOLD).solve();
+		
+		record("retrainWarm", "random" + size, size * size, "updates", new double[] {warm});
+		record("retrainCold", "random" + size, size * size, "updates", new double[] {cold});
+	}
+	
+	/**
+	 * Run a benchmark's warmup and timed runs, then record the scores
+	 * @param benchmark Name of the benchmark
+	 * @param map Name of the map
+	 * @param cells Number of cells in the map
+	 * @param unit Unit of the scores
+	 * @param trial Single run of the benchmark
+	 */
+	private void measure(String benchmark, String map, int cells, String unit, Trial trial) throws Exception {
+		for (int i = 0; i < warmup; i++)
+			trial.run();
+		
+		double[] scores = new double[iterations];
+		for (int i = 0; i < iterations; i++)
+			scores[i] = trial.run();
+		record(benchmark, map, cells, unit, scores);
+	}
+	
+	/**
+	 * Print the scores of a benchmark and keep them for the JSON output
+	 * @param benchmark Name of the benchmark
+	 * @param map Name of the map
+	 * @param cells Number of cells in the map
+	 * @param unit Unit of the scores
+	 * @param scores Score of each timed run
+	 */
+	void record(String benchmark, String map, int cells, String unit, double[] scores) {
+		double mean = Util.avg(scores);
+		double min = scores[0];
+		double max = scores[0];
+		double variance = 0;
+		for (double score : scores) {
+			min = Math.min(min, score);
+			max = Math.max(max, score);
+			variance += (score - mean) * (score - mean);
+		}
+		double stdev = scores.length > 1 ? Math.sqrt(variance / (scores.length - 1)) : 0;
+		
+		Util.println(String.format("%-14s %-12s %12.3f +- %.3f %s", benchmark, map, mean, stdev, unit));
+		results.add(String.format("{\"benchmark\": \"%s\", \"map\": \"%s\", \"cells\": %d, \"unit\": \"%s\", "
+				+ "\"mean\": %s, \"stdev\": %s, \"min\": %s, \"max\": %s, \"iterations\": %d}",
+				benchmark, map, cells, unit, mean, stdev, min, max, scores.length));
+	}
+	
+	/**
+	 * Write every recorded result to a JSON file
+	 * @param filename Name of the file to write
+	 */
+	public void writeJson(String filename) throws IOException {
+		try (PrintWriter out = new PrintWriter(new FileWriter(filename))) {
+			out.println("{\"benchmarks\": [");
+			for (int i = 0; i < results.size(); i++)
+				out.println("  " + results.get(i) + (i < results.size() - 1 ? "," : ""));
+			out.println("]}");
+		}
+		Util.println("Wrote", results.size(), "results to", filename);
+	}
+	
+	/**
+	 * Copy a grid so a benchmark can change it without affecting the others
+	 * @param grid Grid to copy
+	 * @return Copy of the grid
+	 */
+	private static Grid copy(Grid grid) {
+		return new Grid(grid.getRows(), grid.getCols(), grid.getCells().clone());
+	}
+	
+	/**
+	 * Reset the peak usage of every heap memory pool
+	 * @return Heap in use after the reset in bytes
+	 */
+	private static long resetPeakHeap() {
+		long used = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+				used += pool.getUsage().getUsed();
+			}
+		}
+		return used;
+	}
+	
+	/**
+	 * Get the peak usage of the heap since the last reset
+	 * @return Sum of the peak usage of every heap memory pool in bytes
+	 */
+	private static long getPeakHeap() {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			if (pool.getType() == MemoryType.HEAP)
+				peak += pool.getPeakUsage().getUsed();
+		return peak;
+	}
+}
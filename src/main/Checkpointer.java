@@ -0,0 +1,230 @@
+/**
+ * Checkpointer
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Periodically saves training progress on a background thread so a run can be resumed
+ */
+
+package main;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class Checkpointer {
+	/*
+	 * File layout, little-endian
+	 * int magic, int version, int episodes done, long training steps, long[2] generator state
+	 * snapshot of the grid and Q-table (see Snapshot)
+	 * int[rows * cols] visits of each state
+	 * long CRC32 of every byte before it
+	 */
+	
+	//Constants
+	private static final int MAGIC = 0x4B434C51;		//"QLCK" in little-endian
+	private static final int VERSION = 1;				//Version of the file layout
+	private static final int HEADER_SIZE = 3 * Integer.BYTES + 3 * Long.BYTES;	//Size of the header in bytes
+	
+	//Attributes
+	private Path path;						//File to write checkpoints to
+	private int interval;					//Episodes between checkpoints
+	private double[][] qBuffers;			//Copies of the Q-values being written, one per buffer
+	private int[][] visitBuffers;			//Copies of the visit counts being written, one per buffer
+	private Future<?>[] writes;				//Write in progress from each buffer
+	private ExecutorService writer;			//Thread that writes checkpoints to disk
+	private int written;					//Checkpoints handed to the writer
+	private int skipped;					//Checkpoints skipped because both buffers were busy
+	private int lastSaved = -1;				//Episodes done at the last checkpoint handed to the writer
+	
+	/**
+	 * Create a checkpointer
+	 * @param filename Name of the file to write checkpoints to, replaced by each new checkpoint
+	 * @param interval Episodes between checkpoints
+	 */
+	public Checkpointer(String filename, int interval) {
+		//Set attributes
+		this.path = Paths.get(filename);
+		this.interval = interval;
+		this.qBuffers = new double[2][];
+		this.visitBuffers = new int[2][];
+		this.writes = new Future<?>[2];
+		this.writer = Executors.newSingleThreadExecutor(r -> {
+			Thread thread = new Thread(r, "Checkpointer");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	/**
+	 * Get the number of checkpoints skipped because the disk could not keep up
+	 * @return Number of skipped checkpoints
+	 */
+	public int getSkipped() {
+		return skipped;
+	}
+	
+	/**
+	 * Get whether a checkpoint is due
+	 * @param episodes Number of episodes done
+	 * @return Whether the number of episodes is a multiple of the interval
+	 */
+	boolean isDue(int episodes) {
+		return episodes % interval == 0;
+	}
+	
+	/**
+	 * Copy the Model's training state into a free buffer and write it on the background thread
+	 * If both buffers are still being written the checkpoint is skipped so training never waits on the disk
+	 * @param model Model being trained
+	 * @param episodes Number of episodes done
+	 */
+	void save(Model model, int episodes) {
+		//Find a buffer that is not being written
+		int buffer = -1;
+		for (int i = 0; i < writes.length && buffer == -1; i++)
+			if (writes[i] == null || writes[i].isDone())
+				buffer = i;
+		if (buffer == -1) {
+			skipped++;
+			return;
+		}
+		
+		//Copy the state so training can keep changing the Model while it is written
+		QTable qValues = model.getQValues();
+		int numValues = qValues.getNumStates() * qValues.getNumActions();
+		if (qBuffers[buffer] == null) {
+			qBuffers[buffer] = new double[numValues];
+			visitBuffers[buffer] = new int[qValues.getNumStates()];
+		}
+		double[] q = qBuffers[buffer];
+		int[] visits = visitBuffers[buffer];
+		if (qValues instanceof FlatQTable) {
+			System.arraycopy(((FlatQTable) qValues).getValues(), 0, q, 0, numValues);
+		} else {
+			for (int state = 0; state < qValues.getNumStates(); state++)
+				for (int action = 0; action < qValues.getNumActions(); action++)
+					q[state * qValues.getNumActions() + action] = qValues.get(state, action);
+		}
+		System.arraycopy(model.getVisits(), 0, visits, 0, visits.length);
+		long[] rngState = model.getRng().getState();
+		long steps = model.getTrainingSteps();
+		lastSaved = episodes;
+		
+		writes[buffer] = writer.submit(() -> {
+			try {
+				write(model.getRewards(), model.getNumEpisodes(), new FlatQTable(visits.length, Model.NUM_ACTIONS, q), 
+						visits, episodes, steps, rngState);
+			} catch (IOException io) {
+				Util.println("Checkpointer: Could not write", path + ":", io.getMessage());
+			}
+		});
+		written++;
+	}
+	
+	/**
+	 * Write the final training state and wait for every checkpoint to be written
+	 * Unlike save() this waits for a free buffer, so a skipped or off-interval final state is never lost
+	 * @param model Model being trained
+	 * @param episodes Number of episodes done
+	 */
+	void finish(Model model, int episodes) {
+		if (episodes != lastSaved) {
+			if (!awaitWrites())
+				return;
+			save(model, episodes);
+		}
+		if (awaitWrites())
+			Util.println("Wrote", written, "checkpoints to", path, "and skipped", skipped);
+	}
+	
+	/**
+	 * Wait for the writes in progress from both buffers
+	 * @return Whether the writes finished, false if the thread was interrupted
+	 */
+	private boolean awaitWrites() {
+		for (int i = 0; i < writes.length; i++) {
+			try {
+				if (writes[i] != null)
+					writes[i].get();
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				return false;
+			} catch (ExecutionException ee) {
+				Util.println("Checkpointer: Could not write", path + ":", ee.getCause());
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Write a checkpoint to a temporary file, then move it over the last one so a valid checkpoint always exists
+	 * @param grid Grid of the Model
+	 * @param numEpisodes Number of episodes the Model trains for
+	 * @param qValues Copy of the Q-table
+	 * @param visits Copy of the visit counts
+	 * @param episodes Number of episodes done
+	 * @param steps Number of training steps taken
+	 * @param rngState State of the Model's generator
+	 */
+	private void write(Grid grid, int numEpisodes, QTable qValues, int[] visits, int episodes, long steps, 
+			long[] rngState) throws IOException {
+		Path temp = Paths.get(path + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, 
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			Snapshot.Writer out = new Snapshot.Writer(channel);
+			out.putInt(MAGIC);
+			out.putInt(VERSION);
+			out.putInt(episodes);
+			out.putLong(steps);
+			out.putLong(rngState[0]);
+			out.putLong(rngState[1]);
+			Snapshot.writeModel(out, grid, numEpisodes, qValues);
+			out.putInts(visits);
+			out.finish();
+			channel.force(true);
+		}
+		Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	/**
+	 * Load a checkpoint so calling train() on the Model continues where the checkpoint left off
+	 * Given the same settings, the resumed run ends with the same Q-values as a run that was never interrupted
+	 * @param filename Name of the checkpoint file
+	 * @return Model with the checkpoint's grid, Q-table, visit counts, generator state and episode counter
+	 * @throws IOException If the file cannot be read or is not a valid checkpoint
+	 */
+	public static Model resume(String filename) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+			Snapshot.Reader in = new Snapshot.Reader(channel);
+			
+			//Check the header
+			if (in.getInt() != MAGIC)
+				throw new IOException(filename + " is not a checkpoint");
+			int version = in.getInt();
+			if (version != VERSION)
+				throw new IOException(filename + " has unsupported version " + version);
+			int episodes = in.getInt();
+			long steps = in.getLong();
+			long s0 = in.getLong();
+			long s1 = in.getLong();
+			
+			//Restore the Model and its training state
+			Model model = Snapshot.readModel(in, channel, HEADER_SIZE, filename, false, false);
+			in.getInts(model.getVisits());
+			in.verify(filename);
+			
+			model.getRng().setState(s0, s1);
+			model.resumeFrom(episodes, steps);
+			Util.println("Resumed", filename, "at episode", episodes);
+			return model;
+		}
+	}
+}
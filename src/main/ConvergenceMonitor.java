@@ -0,0 +1,187 @@
+/**
+ * ConvergenceMonitor
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Decides when training has converged so it can stop before running every episode
+ */
+
+package main;
+
+import java.util.Arrays;
+
+public class ConvergenceMonitor {
+	//Constants
+	private static final long SAMPLE_SEED = 0x5EED;		//Seed for choosing the sampled states
+	
+	//Why training stopped
+	public enum Reason {
+		EPISODE_LIMIT,			//Ran every episode without converging
+		Q_VALUES_CONVERGED,		//No Q-value changed by more than the tolerance over the window
+		POLICY_STABLE			//Greedy action of the sampled states stopped changing and leads each of them to the goal
+	}
+	
+	//Attributes
+	private int window;				//Episodes in a row that must stay under the tolerance, 0 to disable
+	private double tolerance;		//Largest change to a Q-value that counts as unchanged
+	private int checkInterval;		//Episodes between policy checks, 0 to disable
+	private int stableChecks;		//Policy checks in a row that must match
+	private int sampleSize;			//Number of states sampled for policy checks
+	private int[] sample;			//States sampled for policy checks
+	private int[] policy;			//Greedy action of each sampled state at the last check
+	private Model model;			//Model being trained
+	private int[] reachable;		//Non-terminal states that can reach the goal
+	private int[] transitions;		//Next state of each (state, action) pair of the Model being trained
+	private byte[] cells;			//Cell type of each state of the Model being trained
+	private int maxPathSteps;		//Most steps a greedy path can take without repeating a state
+	private int quietEpisodes;		//Episodes in a row under the tolerance
+	private int matchingChecks;		//Policy checks in a row that matched
+	private int stopEpisode;		//Number of episodes run when training stopped
+	private Reason reason;			//Why training stopped
+	
+	/**
+	 * Create a convergence monitor
+	 * @param window Episodes in a row where no Q-value may change by more than the tolerance, 0 to disable
+	 * @param tolerance Largest change to a Q-value that counts as unchanged
+	 * @param checkInterval Episodes between greedy policy checks, 0 to disable
+	 * @param stableChecks Policy checks in a row that must find the same greedy actions
+	 * @param sampleSize Number of non-terminal states whose greedy action is checked
+	 */
+	public ConvergenceMonitor(int window, double tolerance, int checkInterval, int stableChecks, int sampleSize) {
+		//Set attributes
+		this.window = window;
+		this.tolerance = tolerance;
+		this.checkInterval = checkInterval;
+		this.stableChecks = stableChecks;
+		this.sampleSize = sampleSize;
+	}
+	
+	/**
+	 * Get the number of episodes run when training stopped
+	 * @return Stopping episode
+	 */
+	public int getStopEpisode() {
+		return stopEpisode;
+	}
+	
+	/**
+	 * Get why training stopped
+	 * @return Reason for stopping
+	 */
+	public Reason getReason() {
+		return reason;
+	}
+	
+	/**
+	 * Prepare for a new training run
+	 * The sampled states come from their own generator so the Model's exploration is not disturbed, and only 
+	 * states that can reach the goal are sampled since no policy leads the others there
+	 * @param model Model being trained
+	 */
+	void start(Model model) {
+		Rng rng = new Rng(SAMPLE_SEED);
+		quietEpisodes = 0;
+		matchingChecks = 0;
+		stopEpisode = model.getNumEpisodes();
+		reason = Reason.EPISODE_LIMIT;
+		this.model = model;
+		transitions = model.getTransitions();
+		cells = model.getCells();
+		maxPathSteps = model.getNonTerminalStates().length;
+		
+		//Sample the states whose greedy action is tracked
+		StateSet reachesGoal = MapGenerator.findReachable(model.getRewards());
+		int count = 0;
+		reachable = model.getNonTerminalStates().clone();
+		for (int state : reachable)
+			if (reachesGoal.contains(state))
+				reachable[count++] = state;
+		reachable = Arrays.copyOf(reachable, count);
+		
+		sample = new int[Math.min(sampleSize, reachable.length)];
+		policy = new int[sample.length];
+		for (int i = 0; i < sample.length; i++) {
+			sample[i] = reachable[rng.nextInt(reachable.length)];
+			policy[i] = model.getQValues().argmax(sample[i]);
+		}
+	}
+	
+	/**
+	 * Record a finished episode and check whether training has converged
+	 * @param episode Index of the finished episode
+	 * @param stats Statistics of the finished episode
+	 * @param qValues Q-table being trained
+	 * @return Whether training should stop
+	 */
+	boolean update(int episode, EpisodeStats stats, QTable qValues) {
+		//Count the episodes in a row that barely changed the Q-values
+		quietEpisodes = stats.maxChange <= tolerance ? quietEpisodes + 1 : 0;
+		if (window > 0 && quietEpisodes >= window)
+			return stop(episode, Reason.Q_VALUES_CONVERGED);
+		
+		/*
+		 * Periodically compare the greedy action of the sampled states against the last check. States that 
+		 * training never reached keep the same action too, so the policy only counts as stable once the 
+		 * greedy path from every sampled state also reaches the goal. Before stopping, one routing pass 
+		 * checks that the path from every state that can reach the goal does
+		 */
+		if (checkInterval > 0 && (episode + 1) % checkInterval == 0) {
+			boolean matches = true;
+			for (int i = 0; i < sample.length; i++) {
+				int action = qValues.argmax(sample[i]);
+				if (action != policy[i]) {
+					policy[i] = action;
+					matches = false;
+				}
+			}
+			
+			matchingChecks = matches && pathsReachGoal(qValues) ? matchingChecks + 1 : 0;
+			if (matchingChecks >= stableChecks) {
+				if (allReachGoal())
+					return stop(episode, Reason.POLICY_STABLE);
+				matchingChecks = 0;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Check that the greedy path from every sampled state reaches the goal
+	 * A path that takes more steps than there are non-terminal states must have repeated one, so it loops
+	 * @param qValues Q-table being trained
+	 * @return Whether every sampled path ends at the goal
+	 */
+	private boolean pathsReachGoal(QTable qValues) {
+		for (int start : sample) {
+			int state = start;
+			for (int step = 0; step <= maxPathSteps && cells[state] == Grid.PATH; step++)
+				state = transitions[state * Model.NUM_ACTIONS + qValues.argmax(state)];
+			if (cells[state] != Grid.GOAL)
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Check that the greedy path from every state that can reach the goal does
+	 * @return Whether every path that can end at the goal does
+	 */
+	private boolean allReachGoal() {
+		RoutingTable routes = new RoutingTable(model);
+		for (int state : reachable)
+			if (!routes.reachesGoal(state))
+				return false;
+		return true;
+	}
+	
+	/**
+	 * Record that training stopped
+	 * @param episode Index of the last episode run
+	 * @param reason Why training stopped
+	 * @return True, so training stops
+	 */
+	private boolean stop(int episode, Reason reason) {
+		this.stopEpisode = episode + 1;
+		this.reason = reason;
+		return true;
+	}
+}
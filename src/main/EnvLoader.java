@@ -0,0 +1,185 @@
+/**
+ * EnvLoader
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Streams an environment file into a Grid without holding its lines in memory
+ */
+
+package main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class EnvLoader {
+	//Constants
+	private static final int BUFFER_SIZE = 1 << 16;		//Bytes read from the file at a time
+	
+	//Attributes
+	private FileChannel channel;		//File being read
+	private ByteBuffer buffer;			//Bytes read but not yet parsed
+	private int numEpisodes;			//Number of episodes to simulate (first line)
+	private long gridStart;				//Offset of the first grid line in the file
+	private Grid grid;					//Grid read from the file
+	
+	/**
+	 * Load an environment file
+	 * The first line is the number of episodes, every line after it is a row of the grid
+	 * @param filename Name of the file containing the environment
+	 * @throws IOException If the file cannot be read or is not a valid environment
+	 */
+	public EnvLoader(String filename) throws IOException {
+		this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+			this.channel = channel;
+			readNumEpisodes();
+			
+			//Measure the grid first so its cells can be read straight into an array of the right size
+			long[] size = measureGrid();
+			if (size[0] * size[1] > Integer.MAX_VALUE)
+				throw new IOException(filename + " has too many cells");
+			
+			grid = new Grid((int) size[0], (int) size[1]);
+			readCells(grid.getCells());
+		}
+		this.channel = null;
+		this.buffer = null;
+	}
+	
+	/**
+	 * Get the number of episodes to simulate
+	 * @return Number of episodes from the first line of the file
+	 */
+	public int getNumEpisodes() {
+		return numEpisodes;
+	}
+	
+	/**
+	 * Get the grid
+	 * @return Grid read from the file
+	 */
+	public Grid getGrid() {
+		return grid;
+	}
+	
+	/**
+	 * Move back to an offset in the file
+	 * @param position Offset to read from next
+	 */
+	private void seek(long position) throws IOException {
+		channel.position(position);
+		buffer.clear().flip();
+	}
+	
+	/**
+	 * Read the next byte of the file
+	 * @return Next byte from 0 to 255, or -1 at the end of the file
+	 */
+	private int read() throws IOException {
+		if (!buffer.hasRemaining()) {
+			buffer.clear();
+			int count;
+			do {
+				count = channel.read(buffer);
+			} while (count == 0);
+			buffer.flip();
+			
+			if (count == -1)
+				return -1;
+		}
+		return buffer.get() & 0xFF;
+	}
+	
+	/**
+	 * Read the number of episodes from the first line
+	 */
+	private void readNumEpisodes() throws IOException {
+		seek(0);
+		long value = 0;
+		int digits = 0;
+		long offset = 0;
+		int b;
+		
+		while ((b = read()) != -1 && b != '\n') {
+			offset++;
+			if (b == '\r')
+				continue;
+			if (b < '0' || b > '9' || value > Integer.MAX_VALUE)
+				throw new NumberFormatException("First line of file must be number of episodes to simulate!");
+			value = value * 10 + (b - '0');
+			digits++;
+		}
+		if (digits == 0 || value > Integer.MAX_VALUE)
+			throw new NumberFormatException("First line of file must be number of episodes to simulate!");
+		
+		numEpisodes = (int) value;
+		gridStart = b == -1 ? offset : offset + 1;
+	}
+	
+	/**
+	 * Count the rows of the grid and check that every row has the same number of cells
+	 * Blank lines are allowed after the last row, but not between rows
+	 * @return Rows and columns of the grid
+	 */
+	private long[] measureGrid() throws IOException {
+		seek(gridStart);
+		long rows = 0;
+		long cols = -1;
+		long length = 0;
+		long line = 2;
+		long firstBlank = -1;
+		int b;
+		
+		do {
+			b = read();
+			
+			//Check the length of every line against the first one
+			if (b == '\n' || b == -1) {
+				if (length == 0) {
+					if (b != -1 && firstBlank == -1)
+						firstBlank = line;
+				} else {
+					if (firstBlank != -1)
+						throw new IOException("Line " + firstBlank + " is blank, only the end of the file can have blank lines");
+					if (cols == -1)
+						cols = length;
+					else if (length != cols)
+						throw new IOException("Line " + line + " has " + length + " cells, expected " + cols);
+					rows++;
+				}
+				line++;
+				length = 0;
+				
+			} else if (b != '\r') {
+				length++;
+			}
+		} while (b != -1);
+		
+		if (rows == 0)
+			throw new IOException("Environment has no cells");
+		return new long[] {rows, cols};
+	}
+	
+	/**
+	 * Read the cell types of the grid
+	 * @param cells Array to store the cell types in, indexed by row * cols + col
+	 */
+	private void readCells(byte[] cells) throws IOException {
+		seek(gridStart);
+		int index = 0;
+		int b;
+		
+		while (index < cells.length && (b = read()) != -1) {
+			if (b == '\n' || b == '\r')
+				continue;
+			
+			byte cell = Grid.toCell(b);
+			if (cell == -1)
+				throw new IOException("Unknown symbol '" + (char) b + "' at cell " + index);
+			cells[index++] = cell;
+		}
+	}
+}
@@ -10,164 +10,580 @@ package main;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.Stroke;
-import java.awt.geom.Rectangle2D;
+import java.awt.event.ActionEvent;
+import java.awt.event.MouseWheelEvent;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Scanner;
 
-import javax.imageio.ImageIO;
+import javax.swing.AbstractAction;
 import javax.swing.JComponent;
+import javax.swing.JScrollPane;
+import javax.swing.JViewport;
+import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
 
 public class Environment extends JComponent {	
 	//Constants
-	private final String BACKGROUND_IMAGE = "src/main/bg.png";
 	private final Color PATH_COLOR = Color.decode("#cabc91");
 	private final Color OBSTACLE_COLOR = Color.decode("#a69150");
 	private final Color GOAL_COLOR = Color.decode("#5eb173");
 	private final Color AGENT_COLOR = Color.decode("#c28090");
 	private final Color TEXT_COLOR = Color.decode("#a66650");
+	private final double LABEL_SCALE = 1000;			//Labels show Q-values to three decimal places
+	private final int MAX_DIRTY_CELLS = 4096;			//Cells changed in one refresh past which the whole view is repainted
+	private final int TILE_SIZE = 256;					//Side length of a background tile in pixels
+	private final int MAX_TILES = 64;					//Background tiles kept before the least recently used is dropped
+	private final int MAX_LABELS = 16384;				//Q-value labels kept before the least recently used is dropped
+	private final int LABEL_MIN_PIXELS = 24;			//Smallest cell that Q-values are written in
+	private final int GRID_MIN_PIXELS = 4;				//Smallest cell that grid lines are drawn around
+	private final int MIN_AGENT_WIDTH = 4;				//Smallest agent drawn when zoomed out
+	private static final int MAX_PIXELS_PER_CELL = 128;	//Furthest the view can zoom in
+	private static final int MAX_CELLS_PER_PIXEL = 64;	//Furthest the view can zoom out
+	private static final int MAX_HEATMAP_PIXELS = 2048;	//Largest side length of the heatmap image, which is scaled to the zoom
+	
+	//Q-value label of a cell
+	private static class Label {
+		long value;			//Q-value shown, scaled by LABEL_SCALE and rounded
+		String text;		//Formatted Q-value
+		int width;			//Width of the text in pixels
+	}
 	
 	//Attributes
 	private Model model;
 	private int rows;
 	private int cols;
-	private int pixelsPerCell;
-	private int agentWidth;
+	private int pixelsPerCell;			//Side length of a cell in pixels, 1 when zoomed out past one pixel per cell
+	private int cellsPerPixel;			//Side length of a pixel in cells, 1 unless zoomed out past one pixel per cell
 	private int width;
 	private int height;
-	private int line;
-	private BufferedImage bg;
-	private Window window;
 	private ArrayList<int[]> path;
 	
+	//Caches
+	private LinkedHashMap<Long, BufferedImage> tiles;	//Background tiles at the current zoom, by tile row and column
+	private LinkedHashMap<Integer, Label> labels;		//Q-value labels at the current zoom, by state
+	private Font labelFont;				//Font of the Q-value labels, null until the first paint at a zoom
+	private FontMetrics labelMetrics;	//Measurements of the label font
+	private int labelHeight;			//Height of a label in pixels
+	private int shownAgent;				//State the agent was drawn in
+	private Rectangle dirty;			//Union of the cells repainted by the last refresh, null if none
+	private Heatmap heatmap;			//Heatmap drawn in place of the background and labels, null to draw labels
+	private boolean heatmapFresh;		//Whether refresh() updated the heatmap since the last paint
+	
+	/**
+	 * Create an Environment with a fixed cell size
+	 * @param model Model to draw
+	 * @param pixelsPerCell Side length of a cell in pixels
+	 */
 	public Environment(Model model, int pixelsPerCell) {
+		this(model, pixelsPerCell, 1);
+	}
+	
+	/**
+	 * Create an Environment at a fixed zoom
+	 * @param model Model to draw
+	 * @param pixelsPerCell Side length of a cell in pixels
+	 * @param cellsPerPixel Side length of a pixel in cells, more than 1 to draw many cells in each pixel
+	 */
+	public Environment(Model model, int pixelsPerCell, int cellsPerPixel) {
 		//Set attributes
 		this.model = model;
 		this.rows = model.getRows();
 		this.cols = model.getCols();
-		this.pixelsPerCell = pixelsPerCell;
-		this.width = pixelsPerCell * rows;
-		this.height = pixelsPerCell * cols;
-		this.line = pixelsPerCell / 10;
-		this.agentWidth = pixelsPerCell / 2;
 		this.path = new ArrayList<int[]>();
 		
-		this.setPreferredSize(new Dimension(width, height));
+		//Keep only the most recently drawn tiles and labels so memory does not grow with the grid
+		this.tiles = new LinkedHashMap<Long, BufferedImage>(MAX_TILES, 0.75f, true) {
+			protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+				return size() > MAX_TILES;
+			}
+		};
+		this.labels = new LinkedHashMap<Integer, Label>(MAX_LABELS, 0.75f, true) {
+			protected boolean removeEldestEntry(Map.Entry<Integer, Label> eldest) {
+				return size() > MAX_LABELS;
+			}
+		};
 		
-		setUpBackground();
+		setZoom(pixelsPerCell, cellsPerPixel);
+		addMouseWheelListener(this::mouseWheelMoved);
+		
+		//Toggle the heatmap with H
+		getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke('h'), "heatmap");
+		getActionMap().put("heatmap", new AbstractAction() {
+			public void actionPerformed(ActionEvent e) {
+				setHeatmap(heatmap == null);
+			}
+		});
 	}
 	
 	/**
-	 * Get the width of the Environment
-	 * @return Width of the Environment in pixels
+	 * Create an Environment zoomed to fit the whole grid in a number of pixels
+	 * @param model Model to draw
+	 * @param maxPixels Largest side length of the grid in pixels
+	 * @return Environment at the largest zoom that fits
 	 */
-	public int getWidth() {
-		return width;
+	public static Environment fitTo(Model model, int maxPixels) {
+		return new Environment(model, fitPixelsPerCell(model, maxPixels), fitCellsPerPixel(model, maxPixels));
 	}
 	
 	/**
-	 * Get the height of the Environment
-	 * @return Height of the Environment in pixels
+	 * Get the largest zoom, in pixels per cell, that fits the grid in a number of pixels
+	 * @param model Model to draw
+	 * @param maxPixels Largest side length of the grid in pixels
+	 * @return Pixels per cell, 1 if the grid only fits with several cells in each pixel
 	 */
-	public int getHeight() {
-		return height;
+	private static int fitPixelsPerCell(Model model, int maxPixels) {
+		int cells = Math.max(model.getRows(), model.getCols());
+		return Math.max(1, Math.min(MAX_PIXELS_PER_CELL, maxPixels / cells));
 	}
 	
-	public void setWindow(Window w) {
-		this.window = w;
+	/**
+	 * Get the smallest power of two cells per pixel that fits the grid in a number of pixels
+	 * @param model Model to draw
+	 * @param maxPixels Largest side length of the grid in pixels
+	 * @return Cells per pixel, 1 if the grid fits with a pixel or more per cell
+	 */
+	private static int fitCellsPerPixel(Model model, int maxPixels) {
+		int cells = Math.max(model.getRows(), model.getCols());
+		int cellsPerPixel = 1;
+		while (cells / cellsPerPixel > maxPixels && cellsPerPixel < MAX_CELLS_PER_PIXEL)
+			cellsPerPixel *= 2;
+		return cellsPerPixel;
 	}
 	
+	//Zoom
+	
 	/**
-	 * Read the background or draw it if it cannot be read
+	 * Set the zoom and resize to fit the grid, dropping everything drawn at the old zoom
+	 * @param pixelsPerCell Side length of a cell in pixels
+	 * @param cellsPerPixel Side length of a pixel in cells
 	 */
-	private void setUpBackground() {
-		try {
-			bg = ImageIO.read(new File(BACKGROUND_IMAGE));
-			Util.println("Opened background image from file");
-			
-		} catch (IOException e) {
-			bg = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-			Graphics2D g2 = bg.createGraphics();
-			g2.setStroke(new BasicStroke(1));
-			
-			//Draw squares with color based on the corresponding reward
-			int[][] rewards = model.getRewards();
-			for (int x = 0; x < rewards.length; x++) {
-				for (int y = 0; y < rewards[x].length; y++) {
-					switch(rewards[y][x]) {
-						case (Model.GOAL_REWARD):
-							g2.setColor(GOAL_COLOR);
-							break;
-						case (Model.PATH_REWARD):
-							g2.setColor(PATH_COLOR);
-							break;
-						case (Model.OBSTACLE_REWARD):
-							g2.setColor(OBSTACLE_COLOR);
-							break;
-						default:
-							g2.setColor(Color.PINK);
+	private void setZoom(int pixelsPerCell, int cellsPerPixel) {
+		this.pixelsPerCell = pixelsPerCell;
+		this.cellsPerPixel = cellsPerPixel;
+		this.width = toPixel(cols + cellsPerPixel - 1);
+		this.height = toPixel(rows + cellsPerPixel - 1);
+		tiles.clear();
+		labels.clear();
+		labelFont = null;
+		
+		setPreferredSize(new Dimension(width, height));
+		setSize(width, height);
+		revalidate();
+		repaint();
+	}
+	
+	/**
+	 * Zoom in or out a number of steps, keeping the cell under a point in the same place on screen
+	 * @param steps Steps to zoom, positive to zoom in
+	 * @param anchor Point to zoom around, in pixels
+	 */
+	public void zoom(int steps, Point anchor) {
+		int newPixels = pixelsPerCell;
+		int newCells = cellsPerPixel;
+		for (int i = 0; i < Math.abs(steps); i++) {
+			if (steps > 0 && newCells > 1)
+				newCells /= 2;
+			else if (steps > 0)
+				newPixels = Math.min(MAX_PIXELS_PER_CELL, newPixels * 2);
+			else if (newPixels > 1)
+				newPixels /= 2;
+			else
+				newCells = Math.min(MAX_CELLS_PER_PIXEL, newCells * 2);
+		}
+		if (newPixels == pixelsPerCell && newCells == cellsPerPixel)
+			return;
+		
+		//Find where the anchor is in cells and on screen
+		double cellX = anchor.x * (double) cellsPerPixel / pixelsPerCell;
+		double cellY = anchor.y * (double) cellsPerPixel / pixelsPerCell;
+		JViewport viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, this);
+		Point view = viewport != null ? viewport.getViewPosition() : new Point();
+		
+		setZoom(newPixels, newCells);
+		
+		//Scroll so the anchor cell stays under the same point on screen
+		if (viewport != null) {
+			int x = (int) (cellX * pixelsPerCell / cellsPerPixel) - (anchor.x - view.x);
+			int y = (int) (cellY * pixelsPerCell / cellsPerPixel) - (anchor.y - view.y);
+			Dimension extent = viewport.getExtentSize();
+			x = Math.max(0, Math.min(x, width - extent.width));
+			y = Math.max(0, Math.min(y, height - extent.height));
+			viewport.setViewPosition(new Point(x, y));
+		}
+	}
+	
+	/**
+	 * Zoom with the mouse wheel while control is held, otherwise scroll
+	 * @param e Wheel event
+	 */
+	private void mouseWheelMoved(MouseWheelEvent e) {
+		JScrollPane scrollPane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, this);
+		if (e.isControlDown())
+			zoom(-e.getWheelRotation(), e.getPoint());
+		else if (scrollPane != null)
+			scrollPane.dispatchEvent(SwingUtilities.convertMouseEvent(this, e, scrollPane));
+	}
+	
+	/**
+	 * Convert a distance in cells to pixels at the current zoom
+	 * @param cells Distance in cells
+	 * @return Distance in pixels
+	 */
+	private int toPixel(int cells) {
+		return (int) ((long) cells * pixelsPerCell / cellsPerPixel);
+	}
+	
+	/**
+	 * Convert a distance in pixels to cells at the current zoom
+	 * @param pixels Distance in pixels
+	 * @return Distance in cells
+	 */
+	private int toCell(int pixels) {
+		return (int) ((long) pixels * cellsPerPixel / pixelsPerCell);
+	}
+	
+	/**
+	 * Get whether cells are big enough at the current zoom to show their Q-values
+	 * @return Whether labels are drawn
+	 */
+	private boolean showsLabels() {
+		return heatmap == null && cellsPerPixel == 1 && pixelsPerCell >= LABEL_MIN_PIXELS;
+	}
+	
+	/**
+	 * Show the greatest Q-value of each cell as a color instead of as text
+	 * @param show Whether to show the heatmap
+	 */
+	public void setHeatmap(boolean show) {
+		if (show && heatmap == null) {
+			heatmap = new Heatmap(model, 1, Heatmap.getCellsPerPixel(rows, cols, MAX_HEATMAP_PIXELS), false);
+			heatmap.update();
+		} else if (!show) {
+			heatmap = null;
+		}
+		repaint();
+	}
+	
+	//Background
+	
+	/**
+	 * Get a background tile, drawing it if it is not cached
+	 * @param tileRow Row of the tile
+	 * @param tileCol Column of the tile
+	 * @return Tile image
+	 */
+	private BufferedImage getTile(int tileRow, int tileCol) {
+		long key = ((long) tileRow << 32) | tileCol;
+		BufferedImage tile = tiles.get(key);
+		if (tile == null) {
+			tile = drawTile(tileRow * TILE_SIZE, tileCol * TILE_SIZE);
+			tiles.put(key, tile);
+		}
+		return tile;
+	}
+	
+	/**
+	 * Drop every cached tile so the background is drawn again, after cells of the grid change
+	 */
+	public void invalidateBackground() {
+		tiles.clear();
+		repaint();
+	}
+	
+	/**
+	 * Draw the cells under a tile
+	 * @param top Top of the tile in pixels
+	 * @param left Left of the tile in pixels
+	 * @return Tile image
+	 */
+	private BufferedImage drawTile(int top, int left) {
+		int tileWidth = Math.min(TILE_SIZE, width - left);
+		int tileHeight = Math.min(TILE_SIZE, height - top);
+		BufferedImage tile = new BufferedImage(tileWidth, tileHeight, BufferedImage.TYPE_INT_RGB);
+		byte[] cells = model.getRewards().getCells();
+		
+		//Zoomed out, blend the cells under each pixel into one color
+		if (cellsPerPixel > 1) {
+			int[] line = new int[tileWidth];
+			for (int y = 0; y < tileHeight; y++) {
+				for (int x = 0; x < tileWidth; x++)
+					line[x] = blendCells(cells, toCell(top + y), toCell(left + x));
+				tile.setRGB(0, y, tileWidth, 1, line, 0, tileWidth);
+			}
+			return tile;
+		}
+		
+		//Draw squares with color based on the corresponding reward
+		Graphics2D g2 = tile.createGraphics();
+		g2.setStroke(new BasicStroke(1));
+		int firstRow = top / pixelsPerCell;
+		int lastRow = Math.min(rows - 1, (top + tileHeight - 1) / pixelsPerCell);
+		int firstCol = left / pixelsPerCell;
+		int lastCol = Math.min(cols - 1, (left + tileWidth - 1) / pixelsPerCell);
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int col = firstCol; col <= lastCol; col++) {
+				g2.setColor(getCellColor(cells[row * cols + col]));
+				g2.fillRect(col * pixelsPerCell - left, row * pixelsPerCell - top, pixelsPerCell, pixelsPerCell);
+			}
+		}
+		
+		//Draw lines to separate the grid squares once they are big enough to see
+		if (pixelsPerCell >= GRID_MIN_PIXELS) {
+			g2.setColor(OBSTACLE_COLOR);
+			for (int row = firstRow; row <= lastRow + 1; row++)
+				g2.drawLine(0, row * pixelsPerCell - top, tileWidth, row * pixelsPerCell - top);
+			for (int col = firstCol; col <= lastCol + 1; col++)
+				g2.drawLine(col * pixelsPerCell - left, 0, col * pixelsPerCell - left, tileHeight);
+		}
+		g2.dispose();
+		return tile;
+	}
+	
+	/**
+	 * Get the color of a type of cell
+	 * @param cell Cell type
+	 * @return Color to fill the cell with
+	 */
+	private Color getCellColor(byte cell) {
+		switch(cell) {
+			case (Grid.GOAL):
+				return GOAL_COLOR;
+			case (Grid.PATH):
+				return PATH_COLOR;
+			case (Grid.OBSTACLE):
+				return OBSTACLE_COLOR;
+			default:
+				return Color.PINK;
+		}
+	}
+	
+	/**
+	 * Blend the cells under a zoomed out pixel, showing the goal if it is one of them
+	 * @param cells Cell types of the grid
+	 * @param top First row under the pixel
+	 * @param left First column under the pixel
+	 * @return RGB color of the pixel
+	 */
+	private int blendCells(byte[] cells, int top, int left) {
+		int obstacles = 0;
+		int count = 0;
+		for (int row = top; row < Math.min(rows, top + cellsPerPixel); row++) {
+			for (int col = left; col < Math.min(cols, left + cellsPerPixel); col++) {
+				byte cell = cells[row * cols + col];
+				if (cell == Grid.GOAL)
+					return GOAL_COLOR.getRGB();
+				if (cell == Grid.OBSTACLE)
+					obstacles++;
+				count++;
+			}
+		}
+		if (count == 0)
+			return Color.WHITE.getRGB();
+		
+		double fraction = obstacles / (double) count;
+		int red = (int) (PATH_COLOR.getRed() + (OBSTACLE_COLOR.getRed() - PATH_COLOR.getRed()) * fraction);
+		int green = (int) (PATH_COLOR.getGreen() + (OBSTACLE_COLOR.getGreen() - PATH_COLOR.getGreen()) * fraction);
+		int blue = (int) (PATH_COLOR.getBlue() + (OBSTACLE_COLOR.getBlue() - PATH_COLOR.getBlue()) * fraction);
+		return (red << 16) | (green << 8) | blue;
+	}
+	
+	//Labels
+	
+	/**
+	 * Get the label of a state, formatting it again only if it is not cached or its Q-value has changed
+	 * The Q-values can change without a refresh(), e.g. from train() or retrain(), so the cache is always checked
+	 * @param state State to label
+	 * @return Label of the state
+	 */
+	private Label getLabel(int state) {
+		long value = Math.round(model.getQValues().max(state) * LABEL_SCALE);
+		Label label = labels.get(state);
+		if (label == null) {
+			label = new Label();
+			setLabel(label, value);
+			labels.put(state, label);
+		} else if (label.value != value) {
+			setLabel(label, value);
+		}
+		return label;
+	}
+	
+	/**
+	 * Format and measure a label
+	 * @param label Label to set
+	 * @param value Q-value to show, scaled by LABEL_SCALE and rounded
+	 */
+	private void setLabel(Label label, long value) {
+		label.value = value;
+		label.text = String.format("%.3f", value / LABEL_SCALE);
+		label.width = labelMetrics.stringWidth(label.text);
+	}
+	
+	//Drawing
+	
+	/**
+	 * Repaint only the visible cells whose label or agent changed since the last refresh
+	 * Must be called on the event dispatch thread, which is the only thread that touches the caches
+	 * @return Number of cells repainted
+	 */
+	public int refresh() {
+		dirty = null;
+		int changed = 0;
+		
+		//Redraw the heatmap and repaint the visible part of every band that changed
+		Rectangle visible = getVisibleRect();
+		if (heatmap != null) {
+			changed += heatmap.update();
+			heatmapFresh = true;
+			for (int band = 0; band < heatmap.getNumBands(); band++) {
+				if (heatmap.isBandChanged(band)) {
+					int[] bandRows = heatmap.getBandRows(band);
+					int top = toPixel(bandRows[0]);
+					Rectangle region = new Rectangle(0, top, width, toPixel(bandRows[1]) - top + 1).intersection(visible);
+					if (!region.isEmpty())
+						repaintRegion(region);
+				}
+			}
+		}
+		
+		//Find the visible labels that changed, redrawing the whole view once too many have
+		if (showsLabels() && labelFont != null) {
+			QTable qValues = model.getQValues();
+			int lastRow = Math.min(rows - 1, (visible.y + visible.height - 1) / pixelsPerCell);
+			int lastCol = Math.min(cols - 1, (visible.x + visible.width - 1) / pixelsPerCell);
+			for (int row = visible.y / pixelsPerCell; row <= lastRow; row++) {
+				for (int col = visible.x / pixelsPerCell; col <= lastCol; col++) {
+					int state = row * cols + col;
+					Label label = labels.get(state);
+					long value = Math.round(qValues.max(state) * LABEL_SCALE);
+					if (label != null && value != label.value) {
+						setLabel(label, value);
+						if (++changed <= MAX_DIRTY_CELLS)
+							repaintRegion(getCellBounds(state));
 					}
-					g2.fillRect(x*pixelsPerCell, y*pixelsPerCell, pixelsPerCell, pixelsPerCell);
-					// *** draw rewards as well? ***
 				}
-			}				
-			
-			//Draw lines to separate the grid squares
-			g2.setColor(OBSTACLE_COLOR);
-			for (int x = 0; x <= rewards.length; x++) 
-				g2.drawLine(0, x * pixelsPerCell, width, x * pixelsPerCell);
-			for (int y = 0; y <= rewards[0].length; y++)
-				g2.drawLine(y * pixelsPerCell, 0, y * pixelsPerCell, height);				
+			}
+		}
+		
+		//Move the agent
+		int agent = model.getAgentState();
+		if (agent != shownAgent) {
+			repaintRegion(getAgentBounds(shownAgent));
+			repaintRegion(getAgentBounds(agent));
+			shownAgent = agent;
+			changed += 2;
 		}
+		
+		if (changed > MAX_DIRTY_CELLS && heatmap == null) {
+			dirty = visible;
+			repaint(visible);
+		}
+		return changed;
 	}
-
+	
 	/**
-	 * Update the Environment based on the model and sleep
-	 * @param episode 
+	 * Get the region repainted by the last refresh
+	 * @return Union of the repainted cells in pixels, null if nothing changed
 	 */
-	public void update(int episode) {
-		repaint();
-		window.setTitle("Q-Learning: Episode " + episode);
-		Util.sleep(10);
+	Rectangle getDirtyRegion() {
+		return dirty;
+	}
+	
+	/**
+	 * Schedule a repaint of part of the Environment
+	 * @param region Region to repaint in pixels
+	 */
+	private void repaintRegion(Rectangle region) {
+		dirty = dirty == null ? region : dirty.union(region);
+		repaint(region.x, region.y, region.width, region.height);
 	}
 	
 	/**
-	 * Draw the Environment
+	 * Get the pixels covered by a cell
+	 * @param state State of the cell
+	 * @return Bounds of the cell
+	 */
+	private Rectangle getCellBounds(int state) {
+		return new Rectangle(toPixel(state % cols), toPixel(state / cols), pixelsPerCell, pixelsPerCell);
+	}
+	
+	/**
+	 * Get the pixels covered by the agent when it is in a state
+	 * @param state State of the agent
+	 * @return Bounds of the agent
+	 */
+	private Rectangle getAgentBounds(int state) {
+		int agentWidth = Math.max(MIN_AGENT_WIDTH, pixelsPerCell / 2);
+		int x = (int) ((state % cols + 0.5) * pixelsPerCell / cellsPerPixel - agentWidth / 2);
+		int y = (int) ((state / cols + 0.5) * pixelsPerCell / cellsPerPixel - agentWidth / 2);
+		return new Rectangle(x, y, agentWidth + 1, agentWidth + 1);
+	}
+	
+	/**
+	 * Draw the Environment, only the tiles and cells inside the clip
 	 * @param g Drawing object
 	 */
 	public void paintComponent(Graphics g) {
 		Graphics2D g2 = (Graphics2D) g;
+		Rectangle clip = g2.getClipBounds();
+		if (clip == null)
+			clip = new Rectangle(0, 0, width, height);
+		clip = clip.intersection(new Rectangle(0, 0, width, height));
+		if (clip.isEmpty())
+			return;
 		
-		//Draw background
-		g2.drawImage(bg, 0, 0, width, height, null);
+		//Draw the heatmap scaled to the zoom, or the background tiles under the clip
+		//The heatmap is brought up to date first unless refresh() just did, since training may have changed it since
+		if (heatmap != null) {
+			if (!heatmapFresh)
+				heatmap.update();
+			heatmapFresh = false;
+			BufferedImage image = heatmap.getImage();
+			int cellsPerHeatPixel = heatmap.getCellsPerPixel();
+			g2.drawImage(image, 0, 0, toPixel(image.getWidth() * cellsPerHeatPixel), 
+					toPixel(image.getHeight() * cellsPerHeatPixel), null);
+		} else {
+			for (int tileRow = clip.y / TILE_SIZE; tileRow <= (clip.y + clip.height - 1) / TILE_SIZE; tileRow++)
+				for (int tileCol = clip.x / TILE_SIZE; tileCol <= (clip.x + clip.width - 1) / TILE_SIZE; tileCol++)
+					g2.drawImage(getTile(tileRow, tileCol), tileCol * TILE_SIZE, tileRow * TILE_SIZE, null);
+		}
 		
-		//Draw Agent
+		//Draw the agent where it was at the last refresh
 		g2.setColor(AGENT_COLOR);
-		int agentX = (int) ((model.getAgentX() + 0.5) * pixelsPerCell - agentWidth/2);
-		int agentY = (int) ((model.getAgentY() + 0.5) * pixelsPerCell - agentWidth/2);
-		g2.fillOval(agentX, agentY, agentWidth, agentWidth);
-		
-		//Draw q-values
-		g2.setColor(TEXT_COLOR);
-		g2.setFont(g2.getFont().deriveFont(pixelsPerCell * 0.25f));
-		FontMetrics fm = g2.getFontMetrics();
-		
-		//Convert from double to string and draw the Q-value centered in box
-		double[][][] qValues = model.getQValues();
-		for (int x = 0; x < qValues.length; x++) {
-			for (int y = 0; y < qValues[x].length; y++) {
-				String qVal = String.format("%.3f", Util.max(qValues[x][y]));
-				Rectangle2D strBounds = fm.getStringBounds(qVal, g2);
-				int strX = (int) ((x + 0.5) * pixelsPerCell - strBounds.getWidth() / 2);
-				int strY = (int) ((y + 0.5) * pixelsPerCell + strBounds.getHeight() / 2);
-				g2.drawString(qVal, strX, strY);
+		Rectangle agent = getAgentBounds(shownAgent);
+		g2.fillOval(agent.x, agent.y, agent.width - 1, agent.height - 1);
+		
+		//Draw the cached Q-value labels centered in their boxes, once cells are big enough to read them
+		if (showsLabels()) {
+			if (labelFont == null) {
+				labelFont = g2.getFont().deriveFont(pixelsPerCell * 0.25f);
+				labelMetrics = getFontMetrics(labelFont);
+				labelHeight = labelMetrics.getAscent() + labelMetrics.getDescent();
+			}
+			g2.setColor(TEXT_COLOR);
+			g2.setFont(labelFont);
+			
+			int lastRow = Math.min(rows - 1, (clip.y + clip.height - 1) / pixelsPerCell);
+			int lastCol = Math.min(cols - 1, (clip.x + clip.width - 1) / pixelsPerCell);
+			for (int row = clip.y / pixelsPerCell; row <= lastRow; row++) {
+				for (int col = clip.x / pixelsPerCell; col <= lastCol; col++) {
+					Label label = getLabel(row * cols + col);
+					int strX = (int) ((col + 0.5) * pixelsPerCell - label.width / 2.0);
+					int strY = (int) ((row + 0.5) * pixelsPerCell + labelHeight / 2.0);
+					g2.drawString(label.text, strX, strY);
+				}
 			}
 		}
 		
@@ -183,21 +599,20 @@ public class Environment extends JComponent {
 	private void drawPath(Graphics2D g2) {
 		//Configure line
 		g2.setColor(Color.RED);
-		Stroke s = new BasicStroke(pixelsPerCell/10, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+		Stroke s = new BasicStroke(Math.max(1, pixelsPerCell/10), BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
 		g2.setStroke(s);
 		
 		//Draw a line from one spot to the next
-		int[] start = Util.scaleArray(path.get(0), pixelsPerCell);
-		int offset = pixelsPerCell/2;
-		int prevX = start[1] + offset;
-		int prevY = start[0] + offset;
-		int START_SIZE = pixelsPerCell/5;
+		int[] start = path.get(0);
+		int prevX = getCenter(start[1]);
+		int prevY = getCenter(start[0]);
+		int START_SIZE = Math.max(MIN_AGENT_WIDTH, pixelsPerCell/5);
 		g2.fillOval(prevX - START_SIZE/2, prevY - START_SIZE/2, START_SIZE, START_SIZE);
 		
 		for (int i = 1; i < path.size(); i++) {
-			int[] pos = Util.scaleArray(path.get(i), pixelsPerCell);
-			int x = pos[1] + offset;
-			int y = pos[0] + offset;
+			int[] pos = path.get(i);
+			int x = getCenter(pos[1]);
+			int y = getCenter(pos[0]);
 			
 			g2.drawLine(prevX, prevY, x, y);
 			
@@ -206,6 +621,15 @@ public class Environment extends JComponent {
 		}
 	}
 	
+	/**
+	 * Get the pixel at the center of a row or column
+	 * @param cell Row or column
+	 * @return Pixel at its center
+	 */
+	private int getCenter(int cell) {
+		return (int) ((cell + 0.5) * pixelsPerCell / cellsPerPixel);
+	}
+	
 	/**
 	 * Set the path from a filename
 	 * @param pathFilename Name of the File containing the path
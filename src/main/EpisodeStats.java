@@ -0,0 +1,78 @@
+/**
+ * EpisodeStats
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Statistics of one training episode, reused across episodes so training does not allocate
+ */
+
+package main;
+
+public class EpisodeStats {
+	//Attributes
+	int steps;					//Steps taken in the episode
+	double maxChange;			//Largest change made to a Q-value in the episode
+	double sumError;			//Sum of the magnitude of the temporal difference of every step
+	long episodeNanos;			//Time spent running the episode, only measured for a TrainingListener
+	long checkpointNanos;		//Time spent saving a checkpoint after the episode
+	long convergenceNanos;		//Time spent checking for convergence after the episode
+	
+	/**
+	 * Clear the statistics for a new episode
+	 */
+	void reset() {
+		steps = 0;
+		maxChange = 0;
+		sumError = 0;
+		episodeNanos = 0;
+		checkpointNanos = 0;
+		convergenceNanos = 0;
+	}
+	
+	/**
+	 * Get the steps taken in the episode
+	 * @return Number of steps
+	 */
+	public int getSteps() {
+		return steps;
+	}
+	
+	/**
+	 * Get the largest change made to a Q-value in the episode
+	 * @return Largest absolute change
+	 */
+	public double getMaxChange() {
+		return maxChange;
+	}
+	
+	/**
+	 * Get the average magnitude of the temporal difference of each step in the episode
+	 * @return Mean absolute temporal difference
+	 */
+	public double getMeanError() {
+		return steps > 0 ? sumError / steps : 0;
+	}
+	
+	/**
+	 * Get the time spent running the episode
+	 * @return Time in nanoseconds, 0 if it was not measured
+	 */
+	public long getEpisodeNanos() {
+		return episodeNanos;
+	}
+	
+	/**
+	 * Get the time spent saving a checkpoint after the episode
+	 * @return Time in nanoseconds, 0 if no checkpoint was saved
+	 */
+	public long getCheckpointNanos() {
+		return checkpointNanos;
+	}
+	
+	/**
+	 * Get the time spent checking for convergence after the episode
+	 * @return Time in nanoseconds, 0 if there is no convergence monitor
+	 */
+	public long getConvergenceNanos() {
+		return convergenceNanos;
+	}
+}
@@ -0,0 +1,178 @@
+/**
+ * FlatQTable
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Q-table backed by one contiguous array indexed by state * numActions + action
+ */
+
+package main;
+
+public class FlatQTable implements QTable {
+	//Constants
+	static final MaxBatch VECTOR_MAX = loadVectorMax();	//Vector API batched max, null to use maxPairs
+	
+	//Batched max of a four-action table, implemented outside src where the incubating Vector API can be used
+	interface MaxBatch {
+		
+		/**
+		 * Get the greatest Q-value of each state in a run
+		 * @param values Q-values indexed by state * 4 + action
+		 * @param start First state of the run
+		 * @param count Number of states in the run
+		 * @param out Array to write the values into
+		 * @param offset Index in out of the first state's value
+		 */
+		public void max(double[] values, int start, int count, double[] out, int offset);
+	}
+	
+	//Attributes
+	private int numStates;			//Number of states in the table
+	private int numActions;			//Number of actions per state
+	private double[] values;		//Q-values, one block of numActions per state
+	
+	/**
+	 * Create a Q-table with every value set to zero
+	 * @param numStates Number of states in the table
+	 * @param numActions Number of actions per state
+	 */
+	public FlatQTable(int numStates, int numActions) {
+		this(numStates, numActions, new double[numStates * numActions]);
+	}
+	
+	/**
+	 * Create a Q-table backed by an existing array
+	 * @param numStates Number of states in the table
+	 * @param numActions Number of actions per state
+	 * @param values Q-values indexed by state * numActions + action
+	 */
+	public FlatQTable(int numStates, int numActions, double[] values) {
+		this.numStates = numStates;
+		this.numActions = numActions;
+		this.values = values;
+	}
+	
+	/**
+	 * Load VectorBatch by name, only when jdk.incubator.vector is in the boot layer and VectorBatch was built
+	 * @return Vector API batched max, or null if it is unavailable or no faster than maxPairs
+	 */
+	private static MaxBatch loadVectorMax() {
+		if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent())
+			return null;
+		try {
+			Class<?> type = Class.forName("main.VectorBatch");
+			if (!(Boolean) type.getDeclaredMethod("isUseful").invoke(null))
+				return null;
+			return (MaxBatch) type.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			return null;
+		}
+	}
+	
+	@Override
+	public int getNumStates() {
+		return numStates;
+	}
+	
+	@Override
+	public int getNumActions() {
+		return numActions;
+	}
+	
+	/**
+	 * Get the array backing the table
+	 * @return Q-values indexed by state * numActions + action
+	 */
+	public double[] getValues() {
+		return values;
+	}
+	
+	@Override
+	public double get(int state, int action) {
+		return values[state * numActions + action];
+	}
+	
+	@Override
+	public void set(int state, int action, double value) {
+		values[state * numActions + action] = value;
+	}
+	
+	@Override
+	public double max(int state) {
+		int base = state * numActions;
+		double max = values[base];
+		for (int i = 1; i < numActions; i++)
+			if (values[base + i] > max)
+				max = values[base + i];
+		return max;
+	}
+	
+	@Override
+	public int argmax(int state) {
+		int base = state * numActions;
+		int maxIndex = 0;
+		for (int i = 1; i < numActions; i++)
+			if (values[base + i] > values[base + maxIndex])
+				maxIndex = i;
+		return maxIndex;
+	}
+	
+	/**
+	 * Get the greatest Q-value of each state in a run, with the Vector API when it is available
+	 * VectorBatch is around three times faster than maxPairs on 512-bit vectors
+	 */
+	@Override
+	public void max(int start, int count, double[] out, int offset) {
+		if (numActions != 4)
+			QTable.super.max(start, count, out, offset);
+		else if (VECTOR_MAX != null)
+			VECTOR_MAX.max(values, start, count, out, offset);
+		else
+			maxPairs(values, start, count, out, offset);
+	}
+	
+	/**
+	 * Get the best action of each state in a run
+	 */
+	@Override
+	public void argmax(int start, int count, int[] out, int offset) {
+		if (numActions != 4)
+			QTable.super.argmax(start, count, out, offset);
+		else
+			argmaxPairs(values, start, count, out, offset);
+	}
+	
+	/**
+	 * Get the greatest Q-value of each state in a run of a four-action table, as the greater of the greatest 
+	 * of each pair of actions. Math.max compiles to a max instruction instead of a branch, so a run is around 
+	 * twice as fast as calling max(state) for each state. It only differs from max(state) in taking 0.0 over -0.0
+	 * @param values Q-values indexed by state * 4 + action
+	 * @param start First state of the run
+	 * @param count Number of states in the run
+	 * @param out Array to write the values into
+	 * @param offset Index in out of the first state's value
+	 */
+	static void maxPairs(double[] values, int start, int count, double[] out, int offset) {
+		for (int i = 0, base = start * 4; i < count; i++, base += 4)
+			out[offset + i] = Math.max(Math.max(values[base], values[base + 1]), Math.max(values[base + 2], values[base + 3]));
+	}
+	
+	/**
+	 * Get the best action of each state in a run of a four-action table, comparing the best of each pair of actions
+	 * Each comparison is strict so ties keep the earlier action, which matches argmax(state) for any Q-values but NaN. 
+	 * The comparisons still branch, so a run takes about as long as calling argmax(state) for each state
+	 * @param values Q-values indexed by state * 4 + action
+	 * @param start First state of the run
+	 * @param count Number of states in the run
+	 * @param out Array to write the actions into
+	 * @param offset Index in out of the first state's action
+	 */
+	static void argmaxPairs(double[] values, int start, int count, int[] out, int offset) {
+		for (int i = 0, base = start * 4; i < count; i++, base += 4) {
+			int firstAction = values[base + 1] > values[base] ? 1 : 0;
+			int secondAction = values[base + 3] > values[base + 2] ? 3 : 2;
+			double first = Math.max(values[base], values[base + 1]);
+			double second = Math.max(values[base + 2], values[base + 3]);
+			out[offset + i] = second > first ? secondAction : firstAction;
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/**
+ * Grid
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Cell types of a grid stored as one byte per cell
+ */
+
+package main;
+
+public class Grid {
+	//Constants
+	public static final byte PATH = 0;					//Cell the agent can move along
+	public static final byte OBSTACLE = 1;				//Cell that ends the episode with a punishment
+	public static final byte GOAL = 2;					//Cell that ends the episode with a reward
+	public static final char PATH_SYMBOL = '.';			//Symbol of a path cell in an environment file
+	public static final char OBSTACLE_SYMBOL = '#';		//Symbol of an obstacle cell in an environment file
+	public static final char GOAL_SYMBOL = 'g';			//Symbol of a goal cell in an environment file
+	
+	//Attributes
+	private int rows;				//Rows in the grid
+	private int cols;				//Columns in the grid
+	private byte[] cells;			//Cell type of each cell, indexed by row * cols + col
+	
+	/**
+	 * Create a grid of path cells
+	 * @param rows Rows in the grid
+	 * @param cols Columns in the grid
+	 */
+	public Grid(int rows, int cols) {
+		this(rows, cols, new byte[rows * cols]);
+	}
+	
+	/**
+	 * Create a grid from its cells
+	 * @param rows Rows in the grid
+	 * @param cols Columns in the grid
+	 * @param cells Cell type of each cell, indexed by row * cols + col
+	 */
+	public Grid(int rows, int cols, byte[] cells) {
+		this.rows = rows;
+		this.cols = cols;
+		this.cells = cells;
+	}
+	
+	/**
+	 * Get the rows in the grid
+	 * @return Number of rows
+	 */
+	public int getRows() {
+		return rows;
+	}
+	
+	/**
+	 * Get the columns in the grid
+	 * @return Number of columns
+	 */
+	public int getCols() {
+		return cols;
+	}
+	
+	/**
+	 * Get the cells of the grid
+	 * @return Cell type of each cell, indexed by row * cols + col
+	 */
+	public byte[] getCells() {
+		return cells;
+	}
+	
+	/**
+	 * Get the type of a cell
+	 * @param row Row of the cell
+	 * @param col Column of the cell
+	 * @return Cell type
+	 */
+	public byte getCell(int row, int col) {
+		return cells[row * cols + col];
+	}
+	
+	/**
+	 * Set the type of a cell
+	 * @param row Row of the cell
+	 * @param col Column of the cell
+	 * @param cell Cell type
+	 */
+	public void setCell(int row, int col, byte cell) {
+		cells[row * cols + col] = cell;
+	}
+	
+	/**
+	 * Get the cell type of a symbol in an environment file
+	 * @param symbol Symbol to convert
+	 * @return Cell type, or -1 if the symbol is not a cell
+	 */
+	public static byte toCell(int symbol) {
+		switch (symbol) {
+			case PATH_SYMBOL:
+				return PATH;
+			case OBSTACLE_SYMBOL:
+				return OBSTACLE;
+			case GOAL_SYMBOL:
+				return GOAL;
+			default:
+				return -1;
+		}
+	}
+	
+	/**
+	 * Get the symbol of a cell type in an environment file
+	 * @param cell Cell type to convert
+	 * @return Symbol of the cell
+	 */
+	public static char toSymbol(byte cell) {
+		switch (cell) {
+			case OBSTACLE:
+				return OBSTACLE_SYMBOL;
+			case GOAL:
+				return GOAL_SYMBOL;
+			default:
+				return PATH_SYMBOL;
+		}
+	}
+}
@@ -0,0 +1,336 @@
+/**
+ * Heatmap
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Image of the greatest Q-value of every cell, drawn straight into the pixels of a BufferedImage
+ */
+
+package main;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import javax.imageio.ImageIO;
+
+public class Heatmap {
+	//Constants
+	private static final int BAND_ROWS = 8;				//Rows of blocks each parallel task draws
+	private static final int ARROW_MIN_PIXELS = 6;		//Smallest cell that greedy-action arrows are drawn in
+	static final int MAX_EXPORT_PIXELS = 4096;			//Largest side length of an exported image, about 64 MB of pixels
+	private static final int OBSTACLE_RGB = Color.decode("#a69150").getRGB() & 0xFFFFFF;
+	private static final int GOAL_RGB = Color.decode("#5eb173").getRGB() & 0xFFFFFF;
+	private static final int ARROW_RGB = 0xFFFFFF;
+	private static final int[] DX = new int[] {-1, 1, 0, 0};	//Column step of each action
+	private static final int[] DY = new int[] {0, 0, 1, -1};	//Row step of each action
+	private static final double[] STOP_VALUES = new double[] {Model.OBSTACLE_REWARD, 0, Model.GOAL_REWARD / 2.0, Model.GOAL_REWARD};
+	private static final int[] STOP_COLORS = new int[] {0xA6403A, 0x20243A, 0x2F9E8F, 0xF5E663};
+	private static final int[] COLORS = createColors(256);	//Colors from the lowest to the highest Q-value
+	
+	//Attributes
+	private Model model;
+	private int rows;
+	private int cols;
+	private int pixelsPerCell;			//Side length of a cell in pixels, 1 if blocks of cells share a pixel
+	private int cellsPerPixel;			//Side length in cells of the block each pixel shows
+	private boolean arrows;				//Whether to draw the greedy action of each cell
+	private int blockRows;				//Rows of blocks
+	private int blockCols;				//Columns of blocks
+	private BufferedImage image;		//Image drawn into
+	private int[] pixels;				//Pixels of the image, one int per pixel
+	private int[] shown;				//Color and action drawn in each block, -1 before the first update
+	private boolean[] changedBands;		//Whether each band changed in the last update
+	
+	/**
+	 * Create a heatmap of a Model
+	 * @param model Model to draw
+	 * @param pixelsPerCell Side length of a cell in pixels
+	 * @param cellsPerPixel Side length of the block of cells each pixel shows, more than 1 for huge grids
+	 * @param arrows Whether to draw the greedy action of each cell, once cells are big enough
+	 */
+	public Heatmap(Model model, int pixelsPerCell, int cellsPerPixel, boolean arrows) {
+		//Set attributes
+		this.model = model;
+		this.rows = model.getRows();
+		this.cols = model.getCols();
+		this.pixelsPerCell = cellsPerPixel > 1 ? 1 : pixelsPerCell;
+		this.cellsPerPixel = cellsPerPixel;
+		this.arrows = arrows && this.pixelsPerCell >= ARROW_MIN_PIXELS;
+		this.blockRows = (rows + cellsPerPixel - 1) / cellsPerPixel;
+		this.blockCols = (cols + cellsPerPixel - 1) / cellsPerPixel;
+		
+		//Write to the image's own pixel array rather than through setRGB
+		this.image = new BufferedImage(blockCols * this.pixelsPerCell, blockRows * this.pixelsPerCell, BufferedImage.TYPE_INT_RGB);
+		this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		this.shown = new int[blockRows * blockCols];
+		this.changedBands = new boolean[getNumBands()];
+		Arrays.fill(shown, -1);
+	}
+	
+	/**
+	 * Get the side length of the block of cells each pixel must show for the image to fit in a size
+	 * @param rows Rows in the grid
+	 * @param cols Columns in the grid
+	 * @param maxPixels Largest side length of the image
+	 * @return Cells per pixel, a power of 2
+	 */
+	static int getCellsPerPixel(int rows, int cols, int maxPixels) {
+		int cellsPerPixel = 1;
+		while ((Math.max(rows, cols) + cellsPerPixel - 1) / cellsPerPixel > maxPixels)
+			cellsPerPixel *= 2;
+		return cellsPerPixel;
+	}
+	
+	/**
+	 * Get the side length of a cell in pixels for the image to fit in a size
+	 * @param rows Rows in the grid
+	 * @param cols Columns in the grid
+	 * @param pixelsPerCell Side length of a cell wanted
+	 * @param maxPixels Largest side length of the image
+	 * @return Pixels per cell, at least 1
+	 */
+	static int getPixelsPerCell(int rows, int cols, int pixelsPerCell, int maxPixels) {
+		return Math.max(1, Math.min(pixelsPerCell, maxPixels / Math.max(rows, cols)));
+	}
+	
+	/**
+	 * Write the heatmap of a Model to a PNG file, without needing a display
+	 * Cells shrink, and then share pixels, until the image is at most MAX_EXPORT_PIXELS on a side
+	 * @param model Model to draw
+	 * @param filename Name of the file to write
+	 * @param pixelsPerCell Largest side length of a cell in pixels
+	 * @param arrows Whether to draw the greedy action of each cell, once cells are big enough
+	 */
+	public static void export(Model model, String filename, int pixelsPerCell, boolean arrows) throws IOException {
+		int rows = model.getRows();
+		int cols = model.getCols();
+		Heatmap heatmap = new Heatmap(model, getPixelsPerCell(rows, cols, pixelsPerCell, MAX_EXPORT_PIXELS), 
+				getCellsPerPixel(rows, cols, MAX_EXPORT_PIXELS), arrows);
+		heatmap.update();
+		if (!ImageIO.write(heatmap.getImage(), "png", new File(filename)))
+			throw new IOException("No PNG writer available");
+	}
+	
+	/**
+	 * Write the heatmap of a saved Model to a PNG file
+	 * Usage: Heatmap snapshot image.png [pixelsPerCell]
+	 * @param args Snapshot, image and largest cell size
+	 */
+	public static void main(String[] args) throws IOException {
+		System.setProperty("java.awt.headless", "true");
+		if (args.length < 2) {
+			Util.println("Usage: Heatmap snapshot image.png [pixelsPerCell]");
+			return;
+		}
+		
+		int pixelsPerCell = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+		export(Snapshot.load(args[0]), args[1], pixelsPerCell, true);
+		Util.println("Wrote heatmap to", args[1]);
+	}
+	
+	/**
+	 * Build the color ramp by blending between the stop colors
+	 * @param size Number of colors
+	 * @return RGB colors from the lowest to the highest Q-value
+	 */
+	private static int[] createColors(int size) {
+		int[] colors = new int[size];
+		for (int i = 0; i < size; i++) {
+			double value = STOP_VALUES[0] + (STOP_VALUES[STOP_VALUES.length - 1] - STOP_VALUES[0]) * i / (size - 1);
+			int stop = 0;
+			while (stop < STOP_VALUES.length - 2 && value > STOP_VALUES[stop + 1])
+				stop++;
+			double t = (value - STOP_VALUES[stop]) / (STOP_VALUES[stop + 1] - STOP_VALUES[stop]);
+			
+			int color = 0;
+			for (int shift = 0; shift <= 16; shift += 8) {
+				int from = (STOP_COLORS[stop] >> shift) & 0xFF;
+				int to = (STOP_COLORS[stop + 1] >> shift) & 0xFF;
+				color |= ((int) Math.round(from + (to - from) * t)) << shift;
+			}
+			colors[i] = color;
+		}
+		return colors;
+	}
+	
+	/**
+	 * Get the color of a Q-value
+	 * @param q Q-value
+	 * @return RGB color
+	 */
+	private static int getColor(double q) {
+		double low = STOP_VALUES[0];
+		double high = STOP_VALUES[STOP_VALUES.length - 1];
+		int index = (int) ((q - low) * (COLORS.length - 1) / (high - low));
+		return COLORS[Math.max(0, Math.min(COLORS.length - 1, index))];
+	}
+	
+	/**
+	 * Get the image drawn into
+	 * @return Heatmap image
+	 */
+	public BufferedImage getImage() {
+		return image;
+	}
+	
+	/**
+	 * Get the side length in cells of the block each pixel shows
+	 * @return Cells per pixel
+	 */
+	public int getCellsPerPixel() {
+		return cellsPerPixel;
+	}
+	
+	/**
+	 * Get the number of bands the image is drawn in
+	 * @return Number of bands
+	 */
+	public int getNumBands() {
+		return (blockRows + BAND_ROWS - 1) / BAND_ROWS;
+	}
+	
+	/**
+	 * Get the rows of the grid a band covers
+	 * @param band Index of the band
+	 * @return First row and one past the last row
+	 */
+	public int[] getBandRows(int band) {
+		return new int[] {band * BAND_ROWS * cellsPerPixel, Math.min(rows, (band + 1) * BAND_ROWS * cellsPerPixel)};
+	}
+	
+	/**
+	 * Get whether a band changed in the last update
+	 * @param band Index of the band
+	 * @return Whether any pixel of the band was redrawn
+	 */
+	public boolean isBandChanged(int band) {
+		return changedBands[band];
+	}
+	
+	/**
+	 * Redraw every block whose color or greedy action changed, one band of rows per parallel task
+	 * @return Number of blocks redrawn
+	 */
+	public int update() {
+		return IntStream.range(0, getNumBands()).parallel().map(this::updateBand).sum();
+	}
+	
+	/**
+	 * Redraw the changed blocks of a band
+	 * @param band Index of the band
+	 * @return Number of blocks redrawn
+	 */
+	private int updateBand(int band) {
+		QTable qValues = model.getQValues();
+		byte[] cells = model.getRewards().getCells();
+		double[] rowValues = new double[cols];
+		int[] rowActions = arrows ? new int[cols] : null;
+		int changed = 0;
+		
+		for (int blockRow = band * BAND_ROWS; blockRow < Math.min(blockRows, (band + 1) * BAND_ROWS); blockRow++) {
+			//Take the values and actions of a whole row of cells in one batch
+			if (cellsPerPixel == 1) {
+				qValues.max(blockRow * cols, cols, rowValues, 0);
+				if (arrows)
+					qValues.argmax(blockRow * cols, cols, rowActions, 0);
+			}
+			
+			for (int blockCol = 0; blockCol < blockCols; blockCol++) {
+				//Color the block by its cell, or the best cell in it when zoomed out
+				int color;
+				int action = -1;
+				if (cellsPerPixel == 1) {
+					int state = blockRow * cols + blockCol;
+					color = cells[state] == Grid.OBSTACLE ? OBSTACLE_RGB : cells[state] == Grid.GOAL ? GOAL_RGB : getColor(rowValues[blockCol]);
+					if (arrows && cells[state] == Grid.PATH)
+						action = rowActions[blockCol];
+				} else {
+					color = blendBlock(qValues, cells, blockRow * cellsPerPixel, blockCol * cellsPerPixel, rowValues);
+				}
+				
+				//Only touch the pixels of blocks that changed
+				int key = color | ((action + 1) << 24);
+				int block = blockRow * blockCols + blockCol;
+				if (shown[block] != key) {
+					shown[block] = key;
+					drawBlock(blockRow, blockCol, color, action);
+					changed++;
+				}
+			}
+		}
+		
+		changedBands[band] = changed > 0;
+		return changed;
+	}
+	
+	/**
+	 * Get the color of a block of cells, showing the goal if it is in the block and the best path cell otherwise
+	 * @param qValues Q-table to read
+	 * @param cells Cell types of the grid
+	 * @param top First row of the block
+	 * @param left First column of the block
+	 * @param values Array of at least one row of the block to take the values of its cells into
+	 * @return RGB color of the block
+	 */
+	private int blendBlock(QTable qValues, byte[] cells, int top, int left, double[] values) {
+		int width = Math.min(cols, left + cellsPerPixel) - left;
+		double best = Double.NEGATIVE_INFINITY;
+		for (int row = top; row < Math.min(rows, top + cellsPerPixel); row++) {
+			qValues.max(row * cols + left, width, values, 0);
+			for (int col = 0; col < width; col++) {
+				int state = row * cols + left + col;
+				if (cells[state] == Grid.GOAL)
+					return GOAL_RGB;
+				if (cells[state] == Grid.PATH)
+					best = Math.max(best, values[col]);
+			}
+		}
+		return best == Double.NEGATIVE_INFINITY ? OBSTACLE_RGB : getColor(best);
+	}
+	
+	/**
+	 * Fill the pixels of a block and draw its greedy action
+	 * @param blockRow Row of the block
+	 * @param blockCol Column of the block
+	 * @param color RGB color to fill with
+	 * @param action Greedy action to draw an arrow for, -1 for none
+	 */
+	private void drawBlock(int blockRow, int blockCol, int color, int action) {
+		int width = image.getWidth();
+		int top = blockRow * pixelsPerCell;
+		int left = blockCol * pixelsPerCell;
+		for (int y = top; y < top + pixelsPerCell; y++)
+			Arrays.fill(pixels, y * width + left, y * width + left + pixelsPerCell, color);
+		if (action < 0)
+			return;
+		
+		//Draw a shaft from the middle of the cell towards the action, then the two sides of the head
+		int centerX = left + pixelsPerCell / 2;
+		int centerY = top + pixelsPerCell / 2;
+		int length = pixelsPerCell * 2 / 5;
+		int head = Math.max(1, length / 2);
+		int tipX = centerX + DX[action] * length;
+		int tipY = centerY + DY[action] * length;
+		drawLine(centerX - DX[action] * length / 2, centerY - DY[action] * length / 2, DX[action], DY[action], length * 3 / 2);
+		drawLine(tipX, tipY, -DX[action] + DY[action], -DY[action] + DX[action], head);
+		drawLine(tipX, tipY, -DX[action] - DY[action], -DY[action] - DX[action], head);
+	}
+	
+	/**
+	 * Draw a straight or diagonal line of arrow pixels
+	 * @param x Column of the first pixel
+	 * @param y Row of the first pixel
+	 * @param stepX Column step between pixels
+	 * @param stepY Row step between pixels
+	 * @param length Number of steps
+	 */
+	private void drawLine(int x, int y, int stepX, int stepY, int length) {
+		for (int i = 0; i <= length; i++, x += stepX, y += stepY)
+			if (x >= 0 && x < image.getWidth() && y >= 0 && y < image.getHeight())
+				pixels[y * image.getWidth() + x] = ARROW_RGB;
+	}
+}
@@ -0,0 +1,130 @@
+/**
+ * IndexedMaxHeap
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Binary max-heap of int keys with double priorities, stored in primitive arrays
+ */
+
+package main;
+
+import java.util.Arrays;
+
+public class IndexedMaxHeap {
+	//Attributes
+	private int[] heap;				//Keys in heap order
+	private int[] positions;		//Index of each key in the heap, -1 if absent
+	private double[] priorities;	//Priority of each key
+	private int size;				//Number of keys in the heap
+	
+	/**
+	 * Create an empty heap
+	 * @param capacity Number of possible keys, keys are in [0, capacity)
+	 */
+	public IndexedMaxHeap(int capacity) {
+		this.heap = new int[capacity];
+		this.positions = new int[capacity];
+		this.priorities = new double[capacity];
+		Arrays.fill(positions, -1);
+	}
+	
+	/**
+	 * Get whether the heap is empty
+	 * @return Whether there are no keys in the heap
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Get the number of keys in the heap
+	 * @return Size of the heap
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Add a key, or raise its priority if it is already in the heap with a lower one
+	 * @param key Key to add
+	 * @param priority Priority of the key
+	 */
+	public void push(int key, double priority) {
+		int pos = positions[key];
+		
+		//Add new keys to the bottom
+		if (pos == -1) {
+			pos = size++;
+			heap[pos] = key;
+			positions[key] = pos;
+			priorities[key] = priority;
+			siftUp(pos);
+			
+		//Only ever raise the priority of a queued key
+		} else if (priority > priorities[key]) {
+			priorities[key] = priority;
+			siftUp(pos);
+		}
+	}
+	
+	/**
+	 * Remove the key with the highest priority
+	 * @return Key with the highest priority
+	 */
+	public int pop() {
+		int top = heap[0];
+		positions[top] = -1;
+		
+		//Move the last key to the top and restore the heap order
+		size--;
+		if (size > 0) {
+			heap[0] = heap[size];
+			positions[heap[0]] = 0;
+			siftDown(0);
+		}
+		return top;
+	}
+	
+	/**
+	 * Move a key up until its parent has a higher priority
+	 * @param pos Position of the key in the heap
+	 */
+	private void siftUp(int pos) {
+		int key = heap[pos];
+		double priority = priorities[key];
+		
+		while (pos > 0) {
+			int parent = (pos - 1) >>> 1;
+			if (priorities[heap[parent]] >= priority)
+				break;
+			heap[pos] = heap[parent];
+			positions[heap[pos]] = pos;
+			pos = parent;
+		}
+		heap[pos] = key;
+		positions[key] = pos;
+	}
+	
+	/**
+	 * Move a key down until both its children have lower priorities
+	 * @param pos Position of the key in the heap
+	 */
+	private void siftDown(int pos) {
+		int key = heap[pos];
+		double priority = priorities[key];
+		
+		while (true) {
+			int child = 2 * pos + 1;
+			if (child >= size)
+				break;
+			if (child + 1 < size && priorities[heap[child + 1]] > priorities[heap[child]])
+				child++;
+			if (priority >= priorities[heap[child]])
+				break;
+			heap[pos] = heap[child];
+			positions[heap[pos]] = pos;
+			pos = child;
+		}
+		heap[pos] = key;
+		positions[key] = pos;
+	}
+}
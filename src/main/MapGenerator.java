@@ -0,0 +1,306 @@
+/**
+ * MapGenerator
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Seeded generator of large grids whose goal is reachable from every path cell
+ */
+
+package main;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+public class MapGenerator {
+	//Layouts the generator can create
+	public enum Layout {
+		RANDOM,		//Obstacles scattered at a given density
+		MAZE,		//Perfect maze with one-cell corridors
+		ROOMS;		//Rectangular rooms joined by corridors
+	}
+	
+	//Constants
+	public static final double DEFAULT_DENSITY = 0.2;	//Fraction of cells that are obstacles in a random layout
+	private static final int MIN_ROOM_SIZE = 3;			//Smallest side length of a room
+	private static final int MAX_ROOM_SIZE = 12;		//Largest side length of a room
+	private static final int SECTOR_SIZE = 16;			//Side length of the square holding each room
+	private static final int EXTRA_CORRIDOR_ODDS = 3;	//One in this many rooms are also joined to the room above
+	
+	//Attributes
+	private Rng rng;			//Generator of the layout
+	
+	/**
+	 * Create a map generator
+	 * @param seed Seed that fixes every map the generator creates
+	 */
+	public MapGenerator(long seed) {
+		rng = new Rng(seed);
+	}
+	
+	/**
+	 * Write a generated map to an environment file
+	 * Usage: MapGenerator layout rows cols seed numEpisodes filename
+	 * @param args Layout, size, seed, episodes and file of the map
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 6) {
+			Util.println("Usage: MapGenerator random|maze|rooms rows cols seed numEpisodes filename");
+			return;
+		}
+		
+		Layout layout = Layout.valueOf(args[0].toUpperCase());
+		int rows = Integer.parseInt(args[1]);
+		int cols = Integer.parseInt(args[2]);
+		Grid grid = new MapGenerator(Long.parseLong(args[3])).generate(layout, rows, cols);
+		write(grid, Integer.parseInt(args[4]), args[5]);
+		Util.println("Wrote", rows + "x" + cols, layout, "map to", args[5]);
+	}
+	
+	/**
+	 * Generate a map with the default settings of a layout
+	 * @param layout Layout of the map
+	 * @param rows Rows in the map
+	 * @param cols Columns in the map
+	 * @return Generated grid
+	 */
+	public Grid generate(Layout layout, int rows, int cols) {
+		switch (layout) {
+			case MAZE:
+				return maze(rows, cols);
+			case ROOMS:
+				return rooms(rows, cols);
+			default:
+				return random(rows, cols, DEFAULT_DENSITY);
+		}
+	}
+	
+	/**
+	 * Generate a map of randomly placed obstacles with the goal in the bottom right corner
+	 * A corridor from the top left corner to the goal is kept clear and walled-in pockets are filled
+	 * @param rows Rows in the map
+	 * @param cols Columns in the map
+	 * @param density Fraction of cells that are obstacles
+	 * @return Generated grid
+	 */
+	public Grid random(int rows, int cols, double density) {
+		Grid grid = new Grid(rows, cols);
+		byte[] cells = grid.getCells();
+		for (int i = 0; i < cells.length; i++)
+			if (rng.nextDouble() < density)
+				cells[i] = Grid.OBSTACLE;
+		
+		//Clear a corridor that wanders right and down to the goal
+		int row = 0;
+		int col = 0;
+		while (row < rows - 1 || col < cols - 1) {
+			cells[row * cols + col] = Grid.PATH;
+			if (row == rows - 1 || (col < cols - 1 && rng.nextInt(2) == 0))
+				col++;
+			else
+				row++;
+		}
+		cells[cells.length - 1] = Grid.GOAL;
+		
+		fillUnreachable(grid);
+		return grid;
+	}
+	
+	/**
+	 * Generate a perfect maze with the goal in the bottom right corridor
+	 * Corridors are on even rows and columns and every corridor cell is connected to every other
+	 * @param rows Rows in the map
+	 * @param cols Columns in the map
+	 * @return Generated grid
+	 */
+	public Grid maze(int rows, int cols) {
+		Grid grid = new Grid(rows, cols);
+		byte[] cells = grid.getCells();
+		Arrays.fill(cells, Grid.OBSTACLE);
+		
+		//Carve with an iterative depth-first search over the corridor cells
+		int mazeRows = (rows + 1) / 2;
+		int mazeCols = (cols + 1) / 2;
+		StateSet visited = new StateSet(mazeRows * mazeCols);
+		int[] stack = new int[mazeRows * mazeCols];
+		int[] neighbours = new int[4];
+		int size = 0;
+		stack[size++] = 0;
+		visited.add(0);
+		cells[0] = Grid.PATH;
+		
+		while (size > 0) {
+			int current = stack[size - 1];
+			int mazeRow = current / mazeCols;
+			int mazeCol = current % mazeCols;
+			
+			//Find the unvisited neighbours
+			int count = 0;
+			if (mazeRow > 0 && !visited.contains(current - mazeCols))
+				neighbours[count++] = current - mazeCols;
+			if (mazeRow < mazeRows - 1 && !visited.contains(current + mazeCols))
+				neighbours[count++] = current + mazeCols;
+			if (mazeCol > 0 && !visited.contains(current - 1))
+				neighbours[count++] = current - 1;
+			if (mazeCol < mazeCols - 1 && !visited.contains(current + 1))
+				neighbours[count++] = current + 1;
+			
+			if (count == 0) {
+				size--;
+				continue;
+			}
+			
+			//Knock down the wall between the current cell and a random neighbour
+			int next = neighbours[rng.nextInt(count)];
+			int nextRow = (next / mazeCols) * 2;
+			int nextCol = (next % mazeCols) * 2;
+			cells[(mazeRow * 2 + nextRow) / 2 * cols + (mazeCol * 2 + nextCol) / 2] = Grid.PATH;
+			cells[nextRow * cols + nextCol] = Grid.PATH;
+			visited.add(next);
+			stack[size++] = next;
+		}
+		
+		cells[(mazeRows - 1) * 2 * cols + (mazeCols - 1) * 2] = Grid.GOAL;
+		return grid;
+	}
+	
+	/**
+	 * Generate one room in each square sector of the map, joined to the rooms beside and above it by corridors
+	 * Every room is joined to the room on its left, so the first column of rooms joins every row together
+	 * @param rows Rows in the map
+	 * @param cols Columns in the map
+	 * @return Generated grid
+	 */
+	public Grid rooms(int rows, int cols) {
+		Grid grid = new Grid(rows, cols);
+		byte[] cells = grid.getCells();
+		Arrays.fill(cells, Grid.OBSTACLE);
+		
+		int sectorRows = (rows + SECTOR_SIZE - 1) / SECTOR_SIZE;
+		int sectorCols = (cols + SECTOR_SIZE - 1) / SECTOR_SIZE;
+		int[] midRows = new int[sectorRows * sectorCols];
+		int[] midCols = new int[sectorRows * sectorCols];
+		
+		for (int sector = 0; sector < midRows.length; sector++) {
+			int sectorRow = sector / sectorCols;
+			int sectorCol = sector % sectorCols;
+			
+			//Carve a room that fits in the sector
+			int maxHeight = Math.min(SECTOR_SIZE, rows - sectorRow * SECTOR_SIZE);
+			int maxWidth = Math.min(SECTOR_SIZE, cols - sectorCol * SECTOR_SIZE);
+			int height = Math.min(maxHeight, MIN_ROOM_SIZE + rng.nextInt(MAX_ROOM_SIZE - MIN_ROOM_SIZE + 1));
+			int width = Math.min(maxWidth, MIN_ROOM_SIZE + rng.nextInt(MAX_ROOM_SIZE - MIN_ROOM_SIZE + 1));
+			int top = sectorRow * SECTOR_SIZE + rng.nextInt(maxHeight - height + 1);
+			int left = sectorCol * SECTOR_SIZE + rng.nextInt(maxWidth - width + 1);
+			for (int row = top; row < top + height; row++)
+				Arrays.fill(cells, row * cols + left, row * cols + left + width, Grid.PATH);
+			midRows[sector] = top + height / 2;
+			midCols[sector] = left + width / 2;
+			
+			//Join the room to its neighbours
+			if (sectorCol > 0)
+				carveCorridor(cells, cols, midRows[sector - 1], midCols[sector - 1], midRows[sector], midCols[sector]);
+			if (sectorRow > 0 && (sectorCol == 0 || rng.nextInt(EXTRA_CORRIDOR_ODDS) == 0))
+				carveCorridor(cells, cols, midRows[sector - sectorCols], midCols[sector - sectorCols], 
+						midRows[sector], midCols[sector]);
+		}
+		
+		cells[midRows[midRows.length - 1] * cols + midCols[midCols.length - 1]] = Grid.GOAL;
+		fillUnreachable(grid);
+		return grid;
+	}
+	
+	/**
+	 * Carve an L-shaped corridor between two cells, across then down
+	 * @param cells Cells of the grid
+	 * @param cols Columns in the grid
+	 * @param fromRow Row of the first cell
+	 * @param fromCol Column of the first cell
+	 * @param toRow Row of the second cell
+	 * @param toCol Column of the second cell
+	 */
+	private static void carveCorridor(byte[] cells, int cols, int fromRow, int fromCol, int toRow, int toCol) {
+		for (int col = Math.min(fromCol, toCol); col <= Math.max(fromCol, toCol); col++)
+			cells[fromRow * cols + col] = Grid.PATH;
+		for (int row = Math.min(fromRow, toRow); row <= Math.max(fromRow, toRow); row++)
+			cells[row * cols + toCol] = Grid.PATH;
+	}
+	
+	/**
+	 * Turn every path cell that cannot reach a goal into an obstacle
+	 * @param grid Grid to fill
+	 * @return Number of cells filled
+	 */
+	static int fillUnreachable(Grid grid) {
+		byte[] cells = grid.getCells();
+		StateSet reached = findReachable(grid);
+		
+		int filled = 0;
+		for (int i = 0; i < cells.length; i++) {
+			if (cells[i] == Grid.PATH && !reached.contains(i)) {
+				cells[i] = Grid.OBSTACLE;
+				filled++;
+			}
+		}
+		return filled;
+	}
+	
+	/**
+	 * Find every state that can reach a goal by moving along path cells
+	 * @param grid Grid to search
+	 * @return Goals and the path cells that can reach one
+	 */
+	static StateSet findReachable(Grid grid) {
+		int rows = grid.getRows();
+		int cols = grid.getCols();
+		byte[] cells = grid.getCells();
+		
+		//Breadth-first search outward from every goal over path cells
+		StateSet reached = new StateSet(cells.length);
+		int[] queue = new int[cells.length];
+		int head = 0;
+		int tail = 0;
+		for (int i = 0; i < cells.length; i++) {
+			if (cells[i] == Grid.GOAL) {
+				reached.add(i);
+				queue[tail++] = i;
+			}
+		}
+		
+		while (head < tail) {
+			int state = queue[head++];
+			int row = state / cols;
+			int col = state % cols;
+			if (row > 0 && cells[state - cols] == Grid.PATH && reached.add(state - cols))
+				queue[tail++] = state - cols;
+			if (row < rows - 1 && cells[state + cols] == Grid.PATH && reached.add(state + cols))
+				queue[tail++] = state + cols;
+			if (col > 0 && cells[state - 1] == Grid.PATH && reached.add(state - 1))
+				queue[tail++] = state - 1;
+			if (col < cols - 1 && cells[state + 1] == Grid.PATH && reached.add(state + 1))
+				queue[tail++] = state + 1;
+		}
+		return reached;
+	}
+	
+	/**
+	 * Write a grid to an environment file
+	 * @param grid Grid to write
+	 * @param numEpisodes Number of episodes on the first line of the file
+	 * @param filename Name of the file to write
+	 */
+	public static void write(Grid grid, int numEpisodes, String filename) throws IOException {
+		byte[] line = new byte[grid.getCols() + 1];
+		line[grid.getCols()] = '\n';
+		
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(filename), 1 << 16)) {
+			out.write((numEpisodes + "\n").getBytes());
+			for (int row = 0; row < grid.getRows(); row++) {
+				for (int col = 0; col < grid.getCols(); col++)
+					line[col] = (byte) Grid.toSymbol(grid.getCell(row, col));
+				out.write(line);
+			}
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * MappedQTable
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Read-only Q-table backed by a memory-mapped snapshot file instead of the heap
+ */
+
+package main;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+
+public class MappedQTable implements QTable {
+	//Constants
+	private static final int CHUNK_SHIFT = 27;					//Each mapping holds 2^27 doubles (1 GB)
+	private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;	//Index of a value within its mapping
+	
+	//Attributes
+	private int numStates;			//Number of states in the table
+	private int numActions;			//Number of actions per state
+	private DoubleBuffer[] chunks;	//Mappings of the file, each holding 2^27 values
+	
+	/**
+	 * Map the Q-values stored in a file
+	 * @param channel File to map, opened for reading
+	 * @param offset Offset of the first Q-value in the file
+	 * @param numStates Number of states in the table
+	 * @param numActions Number of actions per state
+	 * @param order Byte order the values are stored in
+	 * @throws IOException If the file cannot be mapped
+	 */
+	public MappedQTable(FileChannel channel, long offset, int numStates, int numActions, ByteOrder order) throws IOException {
+		this.numStates = numStates;
+		this.numActions = numActions;
+		
+		//Map the values in chunks since a single mapping cannot be larger than 2 GB
+		long numValues = (long) numStates * numActions;
+		chunks = new DoubleBuffer[(int) ((numValues + CHUNK_MASK) >>> CHUNK_SHIFT)];
+		for (int i = 0; i < chunks.length; i++) {
+			long first = (long) i << CHUNK_SHIFT;
+			long count = Math.min(numValues - first, 1L << CHUNK_SHIFT);
+			chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + first * Double.BYTES, count * Double.BYTES)
+					.order(order).asDoubleBuffer();
+		}
+	}
+	
+	@Override
+	public int getNumStates() {
+		return numStates;
+	}
+	
+	@Override
+	public int getNumActions() {
+		return numActions;
+	}
+	
+	@Override
+	public double get(int state, int action) {
+		long index = (long) state * numActions + action;
+		return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+	}
+	
+	/**
+	 * Mapped tables are read-only
+	 * @throws UnsupportedOperationException Always
+	 */
+	@Override
+	public void set(int state, int action, double value) {
+		throw new UnsupportedOperationException("MappedQTable: Mapped Q-tables are read-only");
+	}
+	
+	@Override
+	public boolean isReadOnly() {
+		return true;
+	}
+	
+	@Override
+	public double max(int state) {
+		long first = (long) state * numActions;
+		DoubleBuffer chunk = chunks[(int) (first >>> CHUNK_SHIFT)];
+		int base = (int) (first & CHUNK_MASK);
+		
+		double max = chunk.get(base);
+		for (int i = 1; i < numActions; i++)
+			if (chunk.get(base + i) > max)
+				max = chunk.get(base + i);
+		return max;
+	}
+	
+	@Override
+	public int argmax(int state) {
+		long first = (long) state * numActions;
+		DoubleBuffer chunk = chunks[(int) (first >>> CHUNK_SHIFT)];
+		int base = (int) (first & CHUNK_MASK);
+		
+		int maxIndex = 0;
+		for (int i = 1; i < numActions; i++)
+			if (chunk.get(base + i) > chunk.get(base + maxIndex))
+				maxIndex = i;
+		return maxIndex;
+	}
+}
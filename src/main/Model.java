@@ -7,19 +7,19 @@
 
 package main;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Scanner;
+import java.util.Arrays;
 
 public class Model {
 	//Constants
-	private final int NUM_ACTIONS = 4;						//Number of actions the agent can take
+	public static final int NUM_ACTIONS = 4;				//Number of actions the agent can take
 	public static final int OBSTACLE_REWARD = -100;			//Punishment for hitting obstacle
 	public static final int PATH_REWARD = -1;				//Reward for moving along path
 	public static final int GOAL_REWARD = 100;				//Reward for reaching goal
-	private final int[] ERROR_STATE = new int[] {-1, -1};	//Error state
+	private static final int[] CELL_REWARDS = new int[] {PATH_REWARD, OBSTACLE_REWARD, GOAL_REWARD};	//Rewards indexed by cell type
+	private static final int STEPS_PER_STATE = 10;			//Default step limit of an episode per state in the grid
 	
 	//Actions agent can take
 	private enum ACTION {
@@ -33,15 +33,26 @@ public class Model {
 	//Attributes
 	private int rows;								//Rows in the grid
 	private int cols; 								//Columns in the grid
-	private double[][][] qValues;					//Q-values (state, action) pairs
-	private int[][] rewards;						//Rewards (same dimension as grid)
-	private ArrayList<int[]> nonTerminalStates;		//Safe states for the agent to be in
+	private QTable qValues;							//Q-values (state, action) pairs
+	private Grid grid;								//Cell types, one byte per cell
+	private byte[] cells;							//Cell types indexed by state
+	private int[] transitions;						//Next state indexed by state * NUM_ACTIONS + action
+	private int[] nonTerminalStates;				//Safe states for the agent to be in
 	private int numEpisodes;						//Number of episodes to simulate
-	private int agentX, agentY;						//X and Y positions of agent
-	private double epsilon = 0.9;					//How often the Agent wants to choose a random move to explore its environment
-	private double discountFactor = 0.9;			//How much to discount future rewards
-	private double learningRate = 0.9;				//The rate the agent should learn at
-	private Environment env;						//Environment to update when live training
+	private long trainingSteps;						//Q-value updates made by the last training run
+	private int startEpisode;						//Episode the next call to train() starts from
+	private Checkpointer checkpointer;				//Saves training progress, null to not checkpoint
+	private volatile int agentState;				//State the agent is in while live training
+	private volatile int liveEpisode;				//Episode being run while live training
+	private Schedule epsilon = Schedule.constant(0.9);		//How often the Agent chooses the best move instead of exploring its environment
+	private double discountFactor = 0.9;					//How much to discount future rewards
+	private Schedule learningRate = Schedule.constant(0.9);	//The rate the agent should learn at
+	private int[] visits;									//Number of times the agent has been in each state
+	private Rng rng = new Rng();					//Random number generator for exploration
+	private ConvergenceMonitor monitor;				//Stops training early once it converges, null to run every episode
+	private TrainingListener listener;				//Receives the progress of training, null to not report it
+	private int maxEpisodeSteps;					//Most steps an episode or path can take
+	private ThreadLocal<StateSet> pathStates;		//States on the path being followed, one set per thread so paths can be found at once
 	
 	/**
 	 * Create a Model from a file
@@ -49,66 +60,20 @@ public class Model {
 	 */
 	public Model(String filename) {
 		try {
-			Scanner s = new Scanner(new File(filename));
+			//Stream the file into a grid of cell types
+			EnvLoader loader = new EnvLoader(filename);
+			numEpisodes = loader.getNumEpisodes();
+			Grid grid = loader.getGrid();
 			
-			ArrayList<String> lines = new ArrayList<String>();
-			//Get the number of episodes (first line)
-			numEpisodes = Integer.parseInt(s.nextLine());
+			init(grid, new FlatQTable(grid.getRows() * grid.getCols(), NUM_ACTIONS));
 			
-			//Add lines from file to list
-			while (s.hasNextLine())
-				lines.add(s.nextLine());
-			
-			//Set size of the environment
-			this.rows = lines.get(0).length();
-			this.cols = lines.size();
-			
-			//Create rewards
-			final char GOAL = 'g';
-			final char OBSTACLE = '#';
-			final char PATH = '.';
-			this.rewards = new int[rows][cols];
-			this.nonTerminalStates = new ArrayList<int[]>();
-			
-			//Add rewards for the goal and the obstacles
-			int x = 0;
-			for (String line : lines) {
-				for (int y = 0; y < line.length(); y++) {
-					char symbol = line.charAt(y);
-					
-					//Assign reward values based on symbol
-					if (symbol == GOAL)
-						rewards[x][y] = GOAL_REWARD;
-					else if (symbol == OBSTACLE)
-						rewards[x][y] = OBSTACLE_REWARD;
-					else if (symbol == PATH) {
-						rewards[x][y] = PATH_REWARD;
-						nonTerminalStates.add(new int[] {x,y});
-					}
-				}
-				x++;
-			}
-			
-			s.close();
-			
-			/*
-			 * 3D array of Q-values Q(s,a)
-			 * x-dimension: 11 horizontal grid spots
-			 * y-dimension: 11 vertical grid spots
-			 * action dimension: 4 moves
-			 * Initial values are zero
-			 */
-			qValues = new double[rows][cols][NUM_ACTIONS];
-			for (int r = 0; r < rows; r++)
-				for (int c = 0; c < cols; c++)
-					for (int a = 0; a < NUM_ACTIONS; a++)
-						qValues[r][c][a] = 0;
-			
-		//Could not find file
-		} catch (FileNotFoundException fnf) {
+		//Could not find or read file
+		} catch (NoSuchFileException nsf) {
 			Util.println("Model:", filename, "was not found!");
 		} catch (NumberFormatException nf) {
 			Util.println("Model: First line of file must be number of episodes to simulate!");
+		} catch (IOException io) {
+			Util.println("Model: Could not read", filename + ":", io.getMessage());
 		}
 	}
 	
@@ -120,27 +85,59 @@ public class Model {
 	 * @param obstacles Obstacles in the grid
 	 */
 	public Model(int rows, int cols, int[] goal, int[][] obstacles, int numEpisodes) {
-		//Set attributes
-		this.rows = rows;
-		this.cols = cols;
 		this.numEpisodes = numEpisodes;
-		this.nonTerminalStates = new ArrayList<int[]>();
+		
+		//Add the rewards
+		init(createGrid(rows, cols, goal, obstacles), new FlatQTable(rows * cols, NUM_ACTIONS));
+	}
+	
+	/**
+	 * Create a Model from a grid of cell types
+	 * @param grid Grid of the environment
+	 * @param numEpisodes Number of episodes to train for
+	 */
+	Model(Grid grid, int numEpisodes) {
+		this(grid, numEpisodes, new FlatQTable(grid.getRows() * grid.getCols(), NUM_ACTIONS));
+	}
+	
+	/**
+	 * Create a Model from a grid of cell types and an existing Q-table
+	 * @param grid Grid of the environment
+	 * @param numEpisodes Number of episodes to train for
+	 * @param qValues Q-table with one state per cell
+	 */
+	Model(Grid grid, int numEpisodes, QTable qValues) {
+		this.numEpisodes = numEpisodes;
+		init(grid, qValues);
+	}
+	
+	/**
+	 * Set up the Model's grid and Q-table
+	 * @param grid Grid of the environment
+	 * @param qValues Q-table with one state per cell
+	 */
+	private void init(Grid grid, QTable qValues) {
+		//Set size of the environment
+		this.grid = grid;
+		this.cells = grid.getCells();
+		this.rows = grid.getRows();
+		this.cols = grid.getCols();
 		
 		/*
-		 * 3D array of Q-values Q(s,a)
-		 * x-dimension: 11 horizontal grid spots
-		 * y-dimension: 11 vertical grid spots
+		 * Table of Q-values Q(s,a)
+		 * state dimension: one per grid spot, indexed by row * cols + col
 		 * action dimension: 4 moves
-		 * Initial values are zero
+		 * New tables start at zero
 		 */
-		qValues = new double[rows][cols][NUM_ACTIONS];
-		for (int r = 0; r < rows; r++)
-			for (int c = 0; c < cols; c++)
-				for (int a = 0; a < NUM_ACTIONS; a++)
-					qValues[r][c][a] = 0;
+		this.qValues = qValues;
+		int numStates = rows * cols;
+		pathStates = ThreadLocal.withInitial(() -> new StateSet(numStates));
+		maxEpisodeSteps = getDefaultMaxSteps(rows, cols);
+		findNonTerminalStates();
 		
-		//Add the rewards
-		createRewards(goal, obstacles);
+		//Read-only tables never train, so only build the transitions if a solver asks for them
+		if (!qValues.isReadOnly())
+			buildTransitions();
 	}
 	
 	//Attributes
@@ -152,7 +149,7 @@ public class Model {
 	public int getRows() {
 		return rows;
 	}
-
+	
 	/**
 	 * Get the cols in the Model
 	 * @return Number of rows in the Model
@@ -161,28 +158,126 @@ public class Model {
 		return cols;
 	}
 	
+	/**
+	 * Get the number of episodes to train for
+	 * @return Number of episodes
+	 */
+	public int getNumEpisodes() {
+		return numEpisodes;
+	}
+	
+	/**
+	 * Get the number of Q-value updates made by the last call to train() or trainParallel()
+	 * @return Number of steps taken while training
+	 */
+	public long getTrainingSteps() {
+		return trainingSteps;
+	}
+	
+	/**
+	 * Get how much future rewards are discounted
+	 * @return Discount factor
+	 */
+	public double getDiscountFactor() {
+		return discountFactor;
+	}
+	
+	/**
+	 * Get the reward for landing on a type of cell
+	 * @param cell Cell type
+	 * @return Reward for the cell
+	 */
+	public static int getReward(byte cell) {
+		return CELL_REWARDS[cell];
+	}
+	
+	/**
+	 * Get the cell type of each state
+	 * @return Cell types indexed by state
+	 */
+	byte[] getCells() {
+		return cells;
+	}
+	
+	/**
+	 * Get the state each action leads to, building the table on first use for read-only Models
+	 * @return Next states indexed by state * NUM_ACTIONS + action
+	 */
+	synchronized int[] getTransitions() {
+		if (transitions == null)
+			buildTransitions();
+		return transitions;
+	}
+	
+	/**
+	 * Get the number of times the agent has been in each state
+	 * @return Visit counts indexed by state, or null for read-only Models since they never train
+	 */
+	int[] getVisits() {
+		return visits;
+	}
+	
+	/**
+	 * Replace the visit counts with the total of counts kept separately by each thread
+	 * @param counts Visit counts of each thread, indexed by state
+	 */
+	void mergeVisits(int[][] counts) {
+		Arrays.fill(visits, 0);
+		for (int[] threadVisits : counts)
+			for (int state = 0; state < visits.length; state++)
+				visits[state] += threadVisits[state];
+	}
+	
+	/**
+	 * Continue training from a checkpoint on the next call to train()
+	 * @param episode Number of episodes already done
+	 * @param steps Number of training steps already taken
+	 */
+	void resumeFrom(int episode, long steps) {
+		this.startEpisode = episode;
+		this.trainingSteps = steps;
+	}
+	
+	/**
+	 * Get the random number generator used for exploration
+	 * @return Model's generator
+	 */
+	Rng getRng() {
+		return rng;
+	}
+	
 	/**
 	 * Get the Q-values in the grid
-	 * @return Grid's Q-values
+	 * @return Grid's Q-values, indexed by state and action
 	 */
-	public double[][][] getQValues() {
+	public QTable getQValues() {
 		return qValues;
 	}
 	
+	/**
+	 * Get the index of a state in the Q-table
+	 * @param row Row of the position
+	 * @param col Column of the position
+	 * @return Index of the state at (row, col)
+	 */
+	public int getState(int row, int col) {
+		return row * cols + col;
+	}
+	
 	/**
 	 * Get the rewards
-	 * @return 2D array of rewards, indexed by their (x,y) positions
+	 * @return Grid of cell types, each with a reward from getReward()
 	 */
-	public int[][] getRewards() {
-		return rewards;
+	public Grid getRewards() {
+		return grid;
 	}
-
+	
 	/**
 	 * Get the X position of the agent
 	 * @return X position of agent on grid
 	 */
 	public int getAgentX() {
-		return agentX;
+		return agentState / cols;
 	}
 	
 	/**
@@ -190,47 +285,201 @@ public class Model {
 	 * @return Y position of agent on grid
 	 */
 	public int getAgentY() {
-		return agentY;
+		return agentState % cols;
+	}
+	
+	/**
+	 * Get the state the agent is in, safe to read from another thread while live training
+	 * @return State of the agent
+	 */
+	public int getAgentState() {
+		return agentState;
+	}
+	
+	/**
+	 * Get the episode live training is on
+	 * @return Index of the episode
+	 */
+	public int getLiveEpisode() {
+		return liveEpisode;
+	}
+	
+	/**
+	 * Set the random number generator used for exploration
+	 * @param rng Generator to use
+	 */
+	public void setRng(Rng rng) {
+		this.rng = rng;
+	}
+	
+	/**
+	 * Seed the random number generator so training is reproducible
+	 * @param seed Seed for the generator
+	 */
+	public void setSeed(long seed) {
+		rng.setSeed(seed);
+	}
+	
+	/**
+	 * Set the schedule of epsilon, the chance the agent chooses the best move instead of a random one
+	 * Raising it over time explores early and follows the best moves later, which shortens episodes
+	 * @param epsilon Schedule of epsilon
+	 */
+	public void setEpsilon(Schedule epsilon) {
+		this.epsilon = epsilon;
+	}
+	
+	/**
+	 * Set the schedule of the learning rate
+	 * @param learningRate Schedule of the learning rate
+	 */
+	public void setLearningRate(Schedule learningRate) {
+		this.learningRate = learningRate;
+	}
+	
+	/**
+	 * Set how much future rewards are discounted
+	 * @param discountFactor Discount factor in [0, 1)
+	 */
+	public void setDiscountFactor(double discountFactor) {
+		this.discountFactor = discountFactor;
+	}
+	
+	/**
+	 * Set the most steps a training episode or greedy path can take before it is cut off
+	 * @param maxEpisodeSteps Step limit
+	 */
+	public void setMaxEpisodeSteps(int maxEpisodeSteps) {
+		this.maxEpisodeSteps = maxEpisodeSteps;
+	}
+	
+	/**
+	 * Set the monitor that stops train() once the Q-values or greedy policy converge
+	 * @param monitor Monitor to check after every episode, null to always run every episode
+	 */
+	public void setConvergenceMonitor(ConvergenceMonitor monitor) {
+		this.monitor = monitor;
+	}
+	
+	/**
+	 * Set the listener that receives the progress of train() and trainParallel() after every episode
+	 * @param listener Listener to report to, null to not report (no timing is done then)
+	 */
+	public void setTrainingListener(TrainingListener listener) {
+		this.listener = listener;
+	}
+	
+	/**
+	 * Set the checkpointer that periodically saves train() progress so it can be resumed
+	 * @param checkpointer Checkpointer to save with, null to not checkpoint
+	 */
+	public void setCheckpointer(Checkpointer checkpointer) {
+		this.checkpointer = checkpointer;
 	}
 	
 	/**
 	 * Get the non-terminal states
-	 * @return Non-terminal states on the grid
+	 * @return Index of each non-terminal state on the grid
 	 */
-	public ArrayList<int[]> getNonTerminalStates(){
+	public int[] getNonTerminalStates(){
 		return nonTerminalStates;
 	}
 	
 	/**
-	 * Create the rewards based on the list of goals and obstacles
+	 * Create the grid based on the list of goals and obstacles
+	 * @return Grid of path cells with the goal and obstacles placed
 	 */
-	private void createRewards(int[] goal, int[][] obstacles) {
-		//Create rewards and fill with base value
-		rewards = new int[rows][cols];
-		for (int x = 0; x < rows; x++)
-			for (int y = 0; y < cols; y++) {
-				rewards[x][y] = PATH_REWARD;
-				nonTerminalStates.add(new int[] {x,y});
-			}
-				
+	private static Grid createGrid(int rows, int cols, int[] goal, int[][] obstacles) {
+		//Every cell starts as a path
+		Grid grid = new Grid(rows, cols);
 		
-		//Add goal reward
-		rewards[goal[0]][goal[1]] = GOAL_REWARD;
+		//Add goal and obstacles
+		grid.setCell(goal[0], goal[1], Grid.GOAL);
+		for (int o = 0; o < obstacles.length; o++)
+			grid.setCell(obstacles[o][0], obstacles[o][1], Grid.OBSTACLE);
+		return grid;
+	}
+	
+	/**
+	 * Precompute the next state of every (state, action) pair so training only does array reads
+	 */
+	private void buildTransitions() {
+		if (!qValues.isReadOnly())
+			visits = new int[rows * cols];
+		int[] transitions = new int[rows * cols * NUM_ACTIONS];
 		
-		//Add obstacle rewards
-		for (int o = 0; o < obstacles.length; o++) {
-			int[] obst = obstacles[o];
-			rewards[obst[0]][obst[1]] = OBSTACLE_REWARD;
-			nonTerminalStates.remove(obst);
+		for (int r = 0; r < rows; r++)
+			for (int c = 0; c < cols; c++)
+				for (ACTION action : ACTIONS)
+					transitions[getState(r, c) * NUM_ACTIONS + action.ordinal()] = getNextState(r, c, action);
+		this.transitions = transitions;
+	}
+	
+	/**
+	 * Get the default step limit of an episode or path, which grows with the grid
+	 * The product is taken as a long since it passes the largest int on grids of a few hundred million cells
+	 * @param rows Rows in the grid
+	 * @param cols Columns in the grid
+	 * @return Most steps an episode or path can take
+	 */
+	static int getDefaultMaxSteps(int rows, int cols) {
+		return (int) Math.min(Integer.MAX_VALUE, (long) STEPS_PER_STATE * rows * cols);
+	}
+	
+	/**
+	 * Pack the index of every non-terminal state into an array so a random one is a single read
+	 */
+	private void findNonTerminalStates() {
+		int count = 0;
+		for (int state = 0; state < cells.length; state++)
+			if (cells[state] == Grid.PATH)
+				count++;
+		
+		nonTerminalStates = new int[count];
+		count = 0;
+		for (int state = 0; state < cells.length; state++)
+			if (cells[state] == Grid.PATH)
+				nonTerminalStates[count++] = state;
+	}
+	
+	/**
+	 * Change cells of the grid, keeping the Q-values learned so far
+	 * Cells that become terminal have their Q-values cleared, since terminal states have no future value
+	 * @param changes (row, col, cell type) of each cell to change, cell types are from Grid
+	 * @return Index of each changed state
+	 */
+	public int[] applyChanges(int[][] changes) {
+		int[] changed = new int[changes.length];
+		
+		for (int i = 0; i < changes.length; i++) {
+			int row = changes[i][0];
+			int col = changes[i][1];
+			byte cell = (byte) changes[i][2];
+			if (cell != Grid.PATH && cell != Grid.OBSTACLE && cell != Grid.GOAL)
+				throw new IllegalArgumentException("Model: Unknown cell type " + cell);
+			
+			int state = getState(row, col);
+			grid.setCell(row, col, cell);
+			if (cell != Grid.PATH)
+				for (int action = 0; action < NUM_ACTIONS; action++)
+					qValues.set(state, action, 0);
+			changed[i] = state;
 		}
+		
+		findNonTerminalStates();
+		return changed;
 	}
 	
 	/**
-	 * Set the Environment for live training
-	 * @param env Environment to draw
+	 * Change cells of the grid and update the Q-table from the existing values instead of from zero
+	 * Only the changed states and the states upstream of them are swept, using prioritized sweeping
+	 * @param changes (row, col, cell type) of each cell to change, cell types are from Grid
+	 * @param threshold Smallest change to a Q-value worth propagating
+	 * @return Number of Q-value updates made
 	 */
-	public void setEnvironment(Environment env) {
-		this.env = env;
+	public long retrain(int[][] changes, double threshold) {
+		int[] changed = applyChanges(changes);
+		return new PrioritizedSweeping(this, threshold).solveFrom(changed);
 	}
 	
 	//Training
@@ -242,98 +491,140 @@ public class Model {
 	 * @return Whether the reward at (row, col) is not the default reward
 	 */
 	private boolean isTerminalState(int row, int col) {
-		return rewards[row][col] != PATH_REWARD;
+		return grid.getCell(row, col) != Grid.PATH;
 	}
 	
 	/**
-	 * Get the starting location for the episode
-	 * @return Random non-terminal spot in grid
+	 * Get the starting state for the episode
+	 * @param rng Generator to choose the state with
+	 * @return Random non-terminal state in grid
 	 */
-	private int[] getStartingLocation() {
-		return nonTerminalStates.get(Util.randInt(nonTerminalStates.size()-1));
+	private int getStartingState(Rng rng) {
+		return nonTerminalStates[rng.nextInt(nonTerminalStates.length)];
 	}
 	
 	/**
-	 * Choose the next action using the greedy epsilon algorithm
-	 * @param row Row the agent is at
-	 * @param col Column the agent is at
-	 * @param epsilon Determines whether the agent is choosing best option or exploring
-	 * @return Next action for the agent to take
-	 */
-	private ACTION getNextAction(int row, int col, double epsilon) {
-		/*
-		 * There is an (epsilon * 100) % chance that the agent chooses the best move. In all other cases,
-		 * the agent chooses a random move. This encourages it to explore its environment.
-		 */
-		
-		// *** remove actions from the edges of the grid (ie. can't go up above first row) ***
-		return Math.random() < epsilon ? ACTIONS[Util.maxIndex(qValues[row][col])] : ACTIONS[Util.randInt(ACTIONS.length-1)];
-	}
-	
-	/**
-	 * Get the next location based on the action
+	 * Get the next state based on the action
 	 * @param row Row the agent is at
 	 * @param col Column the agent is at
 	 * @param action Action the agent is taking
-	 * @return New (x,y) position for the agent
+	 * @return Index of the state the agent moves to
 	 */
-	private int[] getNextLocation(int row, int col, ACTION action) {
+	private int getNextState(int row, int col, ACTION action) {
 		switch (action) {
 			case UP:
-				return new int[] {Math.max(row-1, 0), col};
+				return getState(Math.max(row-1, 0), col);
 			case DOWN:
-				return new int[] {Math.min(row+1, this.rows-1), col};
+				return getState(Math.min(row+1, this.rows-1), col);
 			case LEFT:
-				return new int[] {row, Math.max(col-1, 0)};
+				return getState(row, Math.max(col-1, 0));
 			case RIGHT:
-				return new int[] {row, Math.min(col+1, this.cols-1)};
+				return getState(row, Math.min(col+1, this.cols-1));
 				
 			//shouldn't go here
 			default:
-				return ERROR_STATE;
+				return getState(row, col);
 		}
 	}
 	
+	/**
+	 * Get the next state based on the action without the transition table
+	 * @param state State the agent is in
+	 * @param action Index of the action the agent is taking
+	 * @return Index of the state the agent moves to
+	 */
+	private int getNextState(int state, int action) {
+		return getNextState(state / cols, state % cols, ACTIONS[action]);
+	}
+	
 	/**
 	 * Get the shortest path between any location and the goal
 	 * @param startRow Row to begin searching from
 	 * @param startCol Column to begin searching from
-	 * @return Shortest path defined by the (x,y) coordinates of each point along it
+	 * @return Shortest path defined by the (x,y) coordinates of each point along it, cut short if it loops
 	 */
 	public ArrayList<int[]> getShortestPath(int startRow, int startCol) {
+		PathResult result = findPath(startRow, startCol, maxEpisodeSteps);
+		return result == null ? null : result.getPath();
+	}
+	
+	/**
+	 * Follow the greedy policy from a location until it reaches a terminal state, loops or runs out of steps
+	 * Safe to call from several threads at once, each thread tracks visited states in its own set
+	 * @param startRow Row to begin searching from
+	 * @param startCol Column to begin searching from
+	 * @param maxSteps Most steps the path can take
+	 * @return Path and how it ended, or null if the start is a terminal state
+	 */
+	public PathResult findPath(int startRow, int startCol, int maxSteps) {
 		//No path if the agent starts at a terminal state
-		if (isTerminalState(startRow, startCol)) {
+		if (isTerminalState(startRow, startCol))
 			return null;
+		
+		//Create the shortest path list, starting at the start position
+		StateSet visited = pathStates.get();
+		ArrayList<int[]> shortestPath = new ArrayList<int[]>();
+		int state = getState(startRow, startCol);
+		shortestPath.add(new int[] {startRow, startCol});
+		visited.add(state);
+		PathResult.Outcome outcome = PathResult.Outcome.MAX_STEPS;
+		
+		for (int step = 0; step < maxSteps; step++) {
+			//Move to the next location with the best action and add it to the list
+			//Computed instead of read from the transitions, which read-only Models never build
+			state = getNextState(state, qValues.argmax(state));
+			shortestPath.add(new int[] {state / cols, state % cols});
 			
-		} else {
-			//Create the shortest path list, starting at the start position
-			ArrayList<int[]> shortestPath = new ArrayList<int[]>();
-			int[] currentPos = new int[] {startRow, startCol};
-			shortestPath.add(currentPos);
-			
-			//Path always ends on a terminal state
-			while (!isTerminalState(currentPos[0], currentPos[1])) {
-				//Choose the best action
-				ACTION action = getNextAction(currentPos[0], currentPos[1], 1.0); 
-				
-				//Move to the next location on the path and add it to the list
-				currentPos = getNextLocation(currentPos[0], currentPos[1], action);
-				shortestPath.add(currentPos);
+			//Path ends on a terminal state, or once the greedy policy comes back to a state it has visited
+			if (cells[state] != Grid.PATH) {
+				outcome = cells[state] == Grid.GOAL ? PathResult.Outcome.GOAL : PathResult.Outcome.OBSTACLE;
+				break;
+			} else if (!visited.add(state)) {
+				outcome = PathResult.Outcome.LOOP;
+				break;
 			}
-			return shortestPath;
 		}
+		
+		//Clear the visited states for the next path
+		for (int[] pos : shortestPath)
+			visited.remove(getState(pos[0], pos[1]));
+		return new PathResult(shortestPath, outcome);
 	}
 	
 	/**
-	 * Calculate the temporal difference for a current state and previous Q value
-	 * @param row Current row agent is at
-	 * @param col Current column agent is at
-	 * @param action Action agent took
-	 * @param oldQValue Previous Q value
-	 * @return Temporal difference between old and now state
+	 * Take one step from a state and update the Q-value of the (state, action) pair taken
+	 * 1. Choose action using epsilon greedy algorithm
+	 * 2. Perform chosen action and transition to the next state
+	 * 3. Receive reward for moving to new state, calculate temporal difference
+	 * 4. Update Q-value of previous state-action pair
+	 * @param qValues Q-table to read and update
+	 * @param visits Visit counts to read and update, only ever touched by the calling thread
+	 * @param state State the agent is in
+	 * @param episode Index of the episode, for the epsilon and learning rate schedules
+	 * @param rng Generator to explore with
+	 * @param stats Statistics of the episode to record the change in
+	 * @return State the agent moved to
 	 */
-	private double temporalDifference(int row, int col, ACTION action, double oldQ) {
-		return rewards[row][col] + (discountFactor * Util.max(qValues[row][col])) - oldQ;
+	private int step(QTable qValues, int[] visits, int state, int episode, Rng rng, EpisodeStats stats) {
+		int stateVisits = visits[state]++;
+		
+		//Choose which action to take
+		int action = rng.nextDouble() < epsilon.getValue(episode, stateVisits) ? qValues.argmax(state) : rng.nextInt(NUM_ACTIONS);
+		
+		//Perform action, transition to next state
+		int next = transitions[state * NUM_ACTIONS + action];
+		
+		//Update Q values with the temporal difference between the old and new state
+		double oldQ = qValues.get(state, action);
+		double temporalDifference = CELL_REWARDS[cells[next]] + (discountFactor * qValues.max(next)) - oldQ;
+		double change = learningRate.getValue(episode, stateVisits) * temporalDifference;
+		qValues.set(state, action, change + oldQ);
+		
+		stats.steps++;
+		stats.sumError += Math.abs(temporalDifference);
+		if (Math.abs(change) > stats.maxChange)
+			stats.maxChange = Math.abs(change);
+		return next;
 	}
 	
 	/**
@@ -346,28 +637,57 @@ public class Model {
 	 * 6. If current state is terminal, start new episode, else repeat from 2
 	 */
 	public void train() {
-		for (int episode = 0; episode < numEpisodes; episode++) {
-			int[] pos = getStartingLocation();
-			int[] prevPos;
-			double oldQ;
+		EpisodeStats stats = new EpisodeStats();
+		int firstEpisode = startEpisode;
+		int episodes = numEpisodes;
+		if (startEpisode == 0) {
+			trainingSteps = 0;
+			Arrays.fill(visits, 0);
+		}
+		if (monitor != null)
+			monitor.start(this);
+		if (listener != null)
+			listener.trainingStarted(numEpisodes - firstEpisode);
+		
+		for (int episode = firstEpisode; episode < numEpisodes; episode++) {
+			//Only time episodes when someone is listening
+			long episodeStart = listener != null ? System.nanoTime() : 0;
+			runEpisode(qValues, rng, stats, episode);
+			trainingSteps += stats.steps;
+			if (listener != null)
+				stats.episodeNanos = System.nanoTime() - episodeStart;
 			
-			//Episode ends when the agent hits a terminal state
-			while (!isTerminalState(pos[0], pos[1])) {
-				//Choose which action to take
-				ACTION action = getNextAction(pos[0], pos[1], epsilon);
-				// *** grow epsilon over time to explore early, choose best later ***
-				
-				//Perform action, transition to next state
-				prevPos = pos;
-				pos = getNextLocation(pos[0], pos[1], action);
-				
-				//Update Q values
-				oldQ = qValues[prevPos[0]][prevPos[1]][action.ordinal()];
-				double temporalDifference = temporalDifference(pos[0], pos[1], action, oldQ);
-				qValues[prevPos[0]][prevPos[1]][action.ordinal()] = learningRate * temporalDifference + oldQ;
+			//Save progress without waiting for the disk
+			if (checkpointer != null && checkpointer.isDue(episode + 1)) {
+				long checkpointStart = System.nanoTime();
+				checkpointer.save(this, episode + 1);
+				stats.checkpointNanos = System.nanoTime() - checkpointStart;
+			}
+			
+			//Check whether training has converged
+			boolean converged = false;
+			if (monitor != null) {
+				long monitorStart = System.nanoTime();
+				converged = monitor.update(episode, stats, qValues);
+				stats.convergenceNanos = System.nanoTime() - monitorStart;
+			}
+			
+			if (listener != null)
+				listener.episodeFinished(episode, stats, epsilon.getValue(episode, 0));
+			
+			//Stop early once training has converged
+			if (converged) {
+				episodes = episode + 1;
+				Util.println("Stopped at episode", episodes, "of", numEpisodes, "because", monitor.getReason());
+				break;
 			}
 		}
-		Util.println("Trained for", numEpisodes, "episodes");
+		startEpisode = 0;
+		if (checkpointer != null)
+			checkpointer.finish(this, episodes);
+		if (listener != null)
+			listener.trainingFinished(episodes - firstEpisode);
+		Util.println("Trained for", episodes, "episodes");
 		
 //		double[][] avgQ = new double[qValues.length][qValues[0].length];
 //		for (int x = 0; x < avgQ.length; x++)
@@ -377,37 +697,125 @@ public class Model {
 	}
 	
 	/**
-	 * Train the model live (draw to the screen)
+	 * Run a single training episode from a random starting location, counting visits in the Model's own counts
+	 * @param qValues Q-table to train
+	 * @param rng Generator to explore with
+	 * @param stats Statistics to fill in for the episode
+	 * @param episode Index of the episode
 	 */
-	public void liveTrain() {
-		for (int episode = 0; episode < numEpisodes; episode++) {
-			int[] start = getStartingLocation();
-			agentX = start[0];
-			agentY = start[1];
-			int[] prevPos;
-			double oldQ;
+	void runEpisode(QTable qValues, Rng rng, EpisodeStats stats, int episode) {
+		runEpisode(qValues, visits, rng, stats, episode);
+	}
+	
+	/**
+	 * Run a single training episode from a random starting location
+	 * @param qValues Q-table to train
+	 * @param visits Visit counts to read and update, one array per thread so the counts are never raced on
+	 * @param rng Generator to explore with
+	 * @param stats Statistics to fill in for the episode
+	 * @param episode Index of the episode
+	 */
+	void runEpisode(QTable qValues, int[] visits, Rng rng, EpisodeStats stats, int episode) {
+		int state = getStartingState(rng);
+		stats.reset();
+		
+		//Episode ends when the agent hits a terminal state or runs out of steps
+		while (cells[state] == Grid.PATH && stats.steps < maxEpisodeSteps) {
+			state = step(qValues, visits, state, episode, rng, stats);
+		}
+	}
+	
+	/**
+	 * Train the model on several threads at once
+	 * Every thread runs its share of the episodes against the same Q-table without locking (Hogwild). 
+	 * Updates from different threads can overwrite each other, but they are rare and the Q-values 
+	 * still converge because each update only nudges a single (state, action) pair. Visits are counted 
+	 * separately by each thread and added up once every thread is done
+	 * @param threads Number of threads to train on
+	 */
+	public void trainParallel(int threads) {
+		Thread[] workers = new Thread[threads];
+		long[] workerSteps = new long[threads];
+		int[][] workerVisits = new int[threads][visits.length];
+		long startTime = System.nanoTime();
+		TrainingListener listener = this.listener;
+		if (listener != null)
+			listener.trainingStarted(numEpisodes);
+		
+		//Give each thread its own generator and an even share of the episodes
+		for (int t = 0; t < threads; t++) {
+			int worker = t;
+			int quota = numEpisodes / threads + (t < numEpisodes % threads ? 1 : 0);
+			Rng workerRng = rng.split();
 			
-			//Episode ends when the agent hits a terminal state
-			while (!isTerminalState(agentX, agentY)) {
-				//Choose which action to take
-				ACTION action = getNextAction(agentX, agentY, epsilon);
-				// *** grow epsilon over time to explore early, choose best later ***
-				
-				//Perform action, transition to next state
-				prevPos = new int[] {agentX, agentY};
-				int[] newPos = getNextLocation(agentX, agentY, action);
-				agentX = newPos[0];
-				agentY = newPos[1];
-				
-				//Update Q values
-				oldQ = qValues[prevPos[0]][prevPos[1]][action.ordinal()];
-				double temporalDifference = temporalDifference(agentX, agentY, action, oldQ);
-				qValues[prevPos[0]][prevPos[1]][action.ordinal()] = learningRate * temporalDifference + oldQ;
-				
-				//Update the environment
-				env.update(episode);
+			workers[t] = new Thread(() -> {
+				EpisodeStats stats = new EpisodeStats();
+				long steps = 0;
+				for (int episode = 0; episode < quota; episode++) {
+					int index = episode * threads + worker;
+					long episodeStart = listener != null ? System.nanoTime() : 0;
+					runEpisode(qValues, workerVisits[worker], workerRng, stats, index);
+					steps += stats.steps;
+					
+					if (listener != null) {
+						stats.episodeNanos = System.nanoTime() - episodeStart;
+						listener.episodeFinished(index, stats, epsilon.getValue(index, 0));
+					}
+				}
+				workerSteps[worker] = steps;
+			}, "Trainer-" + t);
+			workers[t].start();
+		}
+		
+		//Wait for every thread to finish its episodes
+		for (Thread worker : workers) {
+			try {
+				worker.join();
+			} catch (InterruptedException i) {
+				Thread.currentThread().interrupt();
+				return;
 			}
 		}
-		Util.println("Trained for", numEpisodes, "episodes");
+		
+		trainingSteps = 0;
+		for (long steps : workerSteps)
+			trainingSteps += steps;
+		mergeVisits(workerVisits);
+		if (listener != null)
+			listener.trainingFinished(numEpisodes);
+		
+		double seconds = (System.nanoTime() - startTime) / 1e9;
+		Util.println("Trained for", numEpisodes, "episodes on", threads, "threads at", 
+				String.format("%.0f", numEpisodes / seconds), "episodes/sec");
+	}
+	
+	/**
+	 * Train the model live on its own thread at full speed
+	 * The agent's state and the episode are published after every step so a renderer can sample them 
+	 * (and the Q-table) at its own rate without ever blocking training
+	 * @return Thread training the model
+	 */
+	public Thread liveTrain() {
+		Thread trainer = new Thread(() -> {
+			EpisodeStats stats = new EpisodeStats();
+			trainingSteps = 0;
+			Arrays.fill(visits, 0);
+			for (int episode = 0; episode < numEpisodes; episode++) {
+				int state = getStartingState(rng);
+				liveEpisode = episode;
+				agentState = state;
+				stats.reset();
+				
+				//Episode ends when the agent hits a terminal state or runs out of steps
+				while (cells[state] == Grid.PATH && stats.steps < maxEpisodeSteps) {
+					state = step(qValues, visits, state, episode, rng, stats);
+					agentState = state;
+				}
+				trainingSteps += stats.steps;
+			}
+			Util.println("Trained for", numEpisodes, "episodes");
+		}, "LiveTrainer");
+		trainer.start();
+		return trainer;
 	}
 }
\ No newline at end of file
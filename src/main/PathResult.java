@@ -0,0 +1,58 @@
+/**
+ * PathResult
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Path followed by the greedy policy and how it ended
+ */
+
+package main;
+
+import java.util.ArrayList;
+
+public class PathResult {
+	//How the path ended
+	public enum Outcome {
+		GOAL,			//Reached the goal
+		OBSTACLE,		//Walked into an obstacle
+		LOOP,			//Returned to a state already on the path, so would never end
+		MAX_STEPS		//Ran out of steps
+	}
+	
+	//Attributes
+	private ArrayList<int[]> path;		//(row, col) of each point along the path
+	private Outcome outcome;			//How the path ended
+	
+	/**
+	 * Create a path result
+	 * @param path (row, col) of each point along the path
+	 * @param outcome How the path ended
+	 */
+	public PathResult(ArrayList<int[]> path, Outcome outcome) {
+		this.path = path;
+		this.outcome = outcome;
+	}
+	
+	/**
+	 * Get the path
+	 * @return (row, col) of each point along the path
+	 */
+	public ArrayList<int[]> getPath() {
+		return path;
+	}
+	
+	/**
+	 * Get how the path ended
+	 * @return Outcome of the path
+	 */
+	public Outcome getOutcome() {
+		return outcome;
+	}
+	
+	/**
+	 * Get whether the path reached the goal
+	 * @return Whether the path ends at the goal
+	 */
+	public boolean reachedGoal() {
+		return outcome == Outcome.GOAL;
+	}
+}
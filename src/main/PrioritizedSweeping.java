@@ -0,0 +1,155 @@
+/**
+ * PrioritizedSweeping
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Updates a Model's Q-table in order of how much each (state, action) pair would change
+ */
+
+package main;
+
+public class PrioritizedSweeping {
+	//Attributes
+	private QTable qValues;				//Model's Q-values
+	private byte[] cells;				//Cell type of each state
+	private int[] transitions;			//Next state of each (state, action) pair
+	private double discountFactor;		//How much to discount future rewards
+	private double threshold;			//Smallest change worth queueing
+	private int[] predStart;			//Start of each state's predecessors in predPairs
+	private int[] predPairs;			//(state, action) pairs leading into each state, grouped by state
+	private IndexedMaxHeap queue;		//(state, action) pairs ordered by the size of their pending change
+	private long updates;				//Q-value updates made by the last solve
+	
+	/**
+	 * Create a prioritized sweeping planner
+	 * @param model Model to fill the Q-table of
+	 * @param threshold Smallest change to a Q-value worth queueing
+	 */
+	public PrioritizedSweeping(Model model, double threshold) {
+		//Set attributes
+		this.qValues = model.getQValues();
+		this.cells = model.getCells();
+		this.transitions = model.getTransitions();
+		this.discountFactor = model.getDiscountFactor();
+		this.threshold = threshold;
+		this.queue = new IndexedMaxHeap(transitions.length);
+		
+		buildPredecessors();
+	}
+	
+	/**
+	 * Get the number of Q-value updates made by the last solve
+	 * @return Number of updates
+	 */
+	public long getUpdates() {
+		return updates;
+	}
+	
+	/**
+	 * Index the non-terminal (state, action) pairs that lead into each state
+	 */
+	private void buildPredecessors() {
+		int numStates = cells.length;
+		predStart = new int[numStates + 1];
+		
+		//Count the predecessors of each state
+		for (int pair = 0; pair < transitions.length; pair++)
+			if (cells[pair / Model.NUM_ACTIONS] == Grid.PATH)
+				predStart[transitions[pair] + 1]++;
+		for (int state = 0; state < numStates; state++)
+			predStart[state + 1] += predStart[state];
+		
+		//Place each pair in its next state's group
+		predPairs = new int[predStart[numStates]];
+		int[] fill = new int[numStates];
+		for (int pair = 0; pair < transitions.length; pair++) {
+			if (cells[pair / Model.NUM_ACTIONS] == Grid.PATH) {
+				int next = transitions[pair];
+				predPairs[predStart[next] + fill[next]++] = pair;
+			}
+		}
+	}
+	
+	/**
+	 * Get how much a (state, action) pair's Q-value would change if it was updated now
+	 * @param pair Index of the pair, state * NUM_ACTIONS + action
+	 * @return Size of the change
+	 */
+	private double getPriority(int pair) {
+		int next = transitions[pair];
+		double target = Model.getReward(cells[next]) + discountFactor * qValues.max(next);
+		return Math.abs(target - qValues.get(pair / Model.NUM_ACTIONS, pair % Model.NUM_ACTIONS));
+	}
+	
+	/**
+	 * Solve the Q-table
+	 * 1. Queue every non-terminal (state, action) pair whose Q-value would change by more than the threshold
+	 * 2. Update the pair with the largest pending change
+	 * 3. Queue the predecessors of its state, since their targets depend on its value
+	 * 4. Repeat from 2 until the queue is empty
+	 * @return Number of Q-value updates until convergence
+	 */
+	public long solve() {
+		updates = 0;
+		
+		//Queue every pair that is out of date
+		for (int pair = 0; pair < transitions.length; pair++)
+			if (cells[pair / Model.NUM_ACTIONS] == Grid.PATH)
+				queueIfOutdated(pair);
+		
+		sweep();
+		Util.println("Prioritized sweeping converged in", updates, "updates");
+		return updates;
+	}
+	
+	/**
+	 * Update the Q-table after a few states changed, starting from the existing Q-values
+	 * 1. Queue the pairs of the changed states and the pairs leading into them
+	 * 2. Sweep outwards from there, only reaching states whose values actually change
+	 * @param states Index of each changed state
+	 * @return Number of Q-value updates until convergence
+	 */
+	public long solveFrom(int[] states) {
+		updates = 0;
+		
+		//Queue the pairs whose own value or target depends on a changed state
+		for (int state : states) {
+			if (cells[state] == Grid.PATH)
+				for (int action = 0; action < Model.NUM_ACTIONS; action++)
+					queueIfOutdated(state * Model.NUM_ACTIONS + action);
+			for (int i = predStart[state]; i < predStart[state + 1]; i++)
+				queueIfOutdated(predPairs[i]);
+		}
+		
+		sweep();
+		Util.println("Prioritized sweeping converged in", updates, "updates from", states.length, "changed states");
+		return updates;
+	}
+	
+	/**
+	 * Queue a (state, action) pair if its Q-value would change by more than the threshold
+	 * @param pair Index of the pair, state * NUM_ACTIONS + action
+	 */
+	private void queueIfOutdated(int pair) {
+		double priority = getPriority(pair);
+		if (priority > threshold)
+			queue.push(pair, priority);
+	}
+	
+	/**
+	 * Update (state, action) pairs until none is out of date by more than the threshold
+	 */
+	private void sweep() {
+		while (!queue.isEmpty()) {
+			//Update the pair with the largest pending change
+			int pair = queue.pop();
+			int state = pair / Model.NUM_ACTIONS;
+			int next = transitions[pair];
+			qValues.set(state, pair % Model.NUM_ACTIONS, Model.getReward(cells[next]) + discountFactor * qValues.max(next));
+			updates++;
+			
+			//Queue the pairs whose target depends on this state's value
+			for (int i = predStart[state]; i < predStart[state + 1]; i++)
+				queueIfOutdated(predPairs[i]);
+		}
+	}
+}
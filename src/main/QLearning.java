@@ -8,27 +8,39 @@
 package main;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 public class QLearning {
-
+	//Constants
+	private static final int COMPARISON_STARTS = 32;		//States the schedule comparison follows greedy paths from
+	private static final int COMPARISON_SEEDS = 5;			//Runs of each schedule in the comparison
+	private static final int COMPARISON_EPISODES = 20000;	//Most episodes a schedule can train for in the comparison
+	private static final int COMPARISON_INTERVAL = 10;		//Episodes between path checks in the comparison
+	
 	/**
 	 * Run the simulation
+	 * Pass --compare-schedules [file.env] to compare the epsilon schedules instead
+	 * @param args Command line options
 	 */
 	public static void main(String[] args) {
+		//Compare how quickly each epsilon schedule learns the optimal paths
+		if (args.length > 0 && args[0].equals("--compare-schedules")) {
+			compareSchedules(args.length > 1 ? args[1] : "src/main/basic.env");
+			return;
+		}
+		
 		//Create a Model from a file
 		Model model = new Model("src/main/basic.env");
-//		int[][] obstacles = new int[][] {{2, 3}, {5, 5}};
-//		Model model = new Model(30, 30, new int[] {29,29}, obstacles, 5000);
-		// *** create random obstacles, not obscuring the goal ***
+//		Model model = new Model(new MapGenerator(0).generate(MapGenerator.Layout.ROOMS, 30, 30), 5000);
 		Util.SHOW_CALLER = true;
 				
 //		model.train();
 		
-		Window w = new Window(model, 50); // *** make pixelsPerCell based on numCells
+		Window w = new Window(model);
 		w.launch();
 		
 //		//Live train the model
-//		model.liveTrain();
+//		w.liveTrain(30);
 		
 		//Train the model
 		long startTime = System.currentTimeMillis();
@@ -36,7 +48,8 @@ public class QLearning {
 //		Util.println("Training took", (System.currentTimeMillis() - startTime) / 1000.0, "seconds");
 
 		//Print the shortest path to the goal
-		int[] randomPos = (int[]) Util.getRandomElement(model.getNonTerminalStates());
+		int[] nonTerminalStates = model.getNonTerminalStates();
+		int randomState = nonTerminalStates[Util.randInt(nonTerminalStates.length-1)];
 		ArrayList<int[]> shortestPath = model.getShortestPath(0, 0);
 		//Create 2D array, graphics to visualize
 		
@@ -44,4 +57,82 @@ public class QLearning {
 //		w.showPath("src/main/basicPath.path");
 		w.showPath(shortestPath);
 	}
+	
+	/**
+	 * Compare how many training steps each epsilon schedule takes before the greedy paths from a fixed set of 
+	 * starts are as short as the optimal paths, averaged over several seeds
+	 * @param filename Name of the file containing the environment
+	 */
+	public static void compareSchedules(String filename) {
+		String[] names = new String[] {"Constant", "Linear", "Exponential", "Visit count"};
+		Schedule[] schedules = new Schedule[] {
+			Schedule.constant(0.9),
+			Schedule.linear(0.5, 0.98, 500),
+			Schedule.exponential(0.5, 0.98, 0.005),
+			Schedule.visitCount(0.5, 0.98, 0.05)
+		};
+		
+		//Solve the environment for the length of the optimal path from every state
+		Model solved = new Model(filename);
+		new ValueIteration(solved, 1e-6).solveInPlace();
+		RoutingTable routes = new RoutingTable(solved);
+		
+		//Pick the starts among the states that can reach the goal, the target is their total optimal path length
+		int[] states = Arrays.stream(solved.getNonTerminalStates()).filter(routes::reachesGoal).toArray();
+		if (states.length == 0) {
+			Util.println("No state of", filename, "can reach the goal, so there is nothing to compare");
+			return;
+		}
+		Rng rng = new Rng(0);
+		int[] starts = new int[Math.min(COMPARISON_STARTS, states.length)];
+		int target = 0;
+		for (int i = 0; i < starts.length; i++) {
+			starts[i] = states[rng.nextInt(states.length)];
+			target += routes.getDistances()[starts[i]];
+		}
+		Util.println("Target is a total path length of", target, "from", starts.length, "starts");
+		
+		//Train each schedule from the same seeds until its paths are as short as the target
+		for (int i = 0; i < schedules.length; i++) {
+			long totalSteps = 0;
+			int totalEpisodes = 0;
+			int reached = 0;
+			for (int seed = 0; seed < COMPARISON_SEEDS; seed++) {
+				Model model = new Model(filename);
+				model.setSeed(seed);
+				model.setEpsilon(schedules[i]);
+				
+				EpisodeStats stats = new EpisodeStats();
+				int episode = 0;
+				boolean done = false;
+				while (!done && episode < COMPARISON_EPISODES) {
+					model.runEpisode(model.getQValues(), model.getRng(), stats, episode++);
+					totalSteps += stats.steps;
+					done = episode % COMPARISON_INTERVAL == 0 && getPathLength(model, starts) <= target;
+				}
+				totalEpisodes += episode;
+				reached += done ? 1 : 0;
+			}
+			
+			Util.println(String.format("%-12s %9.0f steps %7.0f episodes, reached the target in %d of %d runs", names[i], 
+					(double) totalSteps / COMPARISON_SEEDS, (double) totalEpisodes / COMPARISON_SEEDS, reached, COMPARISON_SEEDS));
+		}
+	}
+	
+	/**
+	 * Get the total length of the greedy paths from a set of starts
+	 * @param model Model to follow the greedy policy of
+	 * @param starts States to start from
+	 * @return Total steps to the goal, Integer.MAX_VALUE if any path does not reach it
+	 */
+	private static int getPathLength(Model model, int[] starts) {
+		int total = 0;
+		for (int start : starts) {
+			PathResult path = model.findPath(start / model.getCols(), start % model.getCols(), model.getNonTerminalStates().length);
+			if (path.getOutcome() != PathResult.Outcome.GOAL)
+				return Integer.MAX_VALUE;
+			total += path.getPath().size() - 1;
+		}
+		return total;
+	}
 }
@@ -0,0 +1,85 @@
+/**
+ * QTable
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Storage for the Q-values of every (state, action) pair
+ */
+
+package main;
+
+public interface QTable {
+	
+	/**
+	 * Get the number of states in the table
+	 * @return Number of states
+	 */
+	public int getNumStates();
+	
+	/**
+	 * Get the number of actions per state
+	 * @return Number of actions
+	 */
+	public int getNumActions();
+	
+	/**
+	 * Get the Q-value of a (state, action) pair
+	 * @param state Index of the state
+	 * @param action Index of the action
+	 * @return Q-value of the pair
+	 */
+	public double get(int state, int action);
+	
+	/**
+	 * Set the Q-value of a (state, action) pair
+	 * @param state Index of the state
+	 * @param action Index of the action
+	 * @param value New Q-value of the pair
+	 */
+	public void set(int state, int action, double value);
+	
+	/**
+	 * Get whether the table can only be read, so a Model over it never trains
+	 * @return Whether set() is unsupported
+	 */
+	public default boolean isReadOnly() {
+		return false;
+	}
+	
+	/**
+	 * Get the greatest Q-value of a state
+	 * @param state Index of the state
+	 * @return Greatest Q-value over all actions
+	 */
+	public double max(int state);
+	
+	/**
+	 * Get the action with the greatest Q-value in a state, the first one wins ties
+	 * @param state Index of the state
+	 * @return Index of the best action
+	 */
+	public int argmax(int state);
+	
+	/**
+	 * Get the greatest Q-value of each state in a run of consecutive states
+	 * @param start First state of the run
+	 * @param count Number of states in the run
+	 * @param out Array to write the values into
+	 * @param offset Index in out of the first state's value
+	 */
+	public default void max(int start, int count, double[] out, int offset) {
+		for (int i = 0; i < count; i++)
+			out[offset + i] = max(start + i);
+	}
+	
+	/**
+	 * Get the best action of each state in a run of consecutive states, the first one wins ties
+	 * @param start First state of the run
+	 * @param count Number of states in the run
+	 * @param out Array to write the actions into
+	 * @param offset Index in out of the first state's action
+	 */
+	public default void argmax(int start, int count, int[] out, int offset) {
+		for (int i = 0; i < count; i++)
+			out[offset + i] = argmax(start + i);
+	}
+}
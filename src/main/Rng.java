@@ -0,0 +1,131 @@
+/**
+ * Rng
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Fast, seedable random number generator (xoroshiro128+), one instance per thread
+ */
+
+package main;
+
+public class Rng {
+	//Constants
+	private static final double DOUBLE_UNIT = 0x1.0p-53;	//Scales a 53-bit integer into [0, 1)
+	
+	//Variables
+	private static long seedUniquifier = System.nanoTime();	//Distinguishes unseeded generators
+	
+	//Attributes
+	private long s0, s1;									//Generator state
+	
+	/**
+	 * Create a generator with a seed that differs from every other unseeded generator
+	 */
+	public Rng() {
+		this(nextSeed());
+	}
+	
+	/**
+	 * Create a generator with a fixed seed so runs are reproducible
+	 * @param seed Seed for the generator
+	 */
+	public Rng(long seed) {
+		setSeed(seed);
+	}
+	
+	/**
+	 * Get a new seed for an unseeded generator
+	 * @return Seed that has not been handed out before
+	 */
+	private static synchronized long nextSeed() {
+		seedUniquifier += 0x9E3779B97F4A7C15L;
+		return seedUniquifier ^ System.nanoTime();
+	}
+	
+	/**
+	 * Mix a value with the SplitMix64 finalizer
+	 * @param z Value to mix
+	 * @return Mixed value
+	 */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+	
+	/**
+	 * Reset the generator to a seed
+	 * @param seed Seed for the generator
+	 */
+	public void setSeed(long seed) {
+		//Expand the seed with SplitMix64 so the state is never all zeros
+		s0 = mix(seed + 0x9E3779B97F4A7C15L);
+		s1 = mix(seed + 2 * 0x9E3779B97F4A7C15L);
+		if ((s0 | s1) == 0)
+			s1 = 1;
+	}
+	
+	/**
+	 * Get the state of the generator so it can be restored later
+	 * @return Both words of the generator's state
+	 */
+	long[] getState() {
+		return new long[] {s0, s1};
+	}
+	
+	/**
+	 * Restore a state saved with getState()
+	 * @param s0 First word of the state
+	 * @param s1 Second word of the state
+	 */
+	void setState(long s0, long s1) {
+		this.s0 = s0;
+		this.s1 = s1;
+	}
+	
+	/**
+	 * Create a new generator whose sequence is independent of this one, for handing to another thread
+	 * @return Generator seeded from this one
+	 */
+	public Rng split() {
+		return new Rng(mix(nextLong()));
+	}
+	
+	/**
+	 * Get the next random long
+	 * @return Random 64-bit value
+	 */
+	public long nextLong() {
+		long a = s0;
+		long b = s1;
+		long result = a + b;
+		
+		b ^= a;
+		s0 = Long.rotateLeft(a, 24) ^ b ^ (b << 16);
+		s1 = Long.rotateLeft(b, 37);
+		return result;
+	}
+	
+	/**
+	 * Get the next random double
+	 * @return Random double in [0, 1)
+	 */
+	public double nextDouble() {
+		return (nextLong() >>> 11) * DOUBLE_UNIT;
+	}
+	
+	/**
+	 * Get the next random integer below a bound, with every value equally likely
+	 * @param bound Exclusive upper bound, must be positive
+	 * @return Random integer in [0, bound)
+	 */
+	public int nextInt(int bound) {
+		//Multiply-shift the top 32 bits into range, rejecting the few values that would bias it
+		long m = ((nextLong() >>> 32) * bound);
+		if ((m & 0xFFFFFFFFL) < bound) {
+			long threshold = (0x100000000L - bound) % bound;
+			while ((m & 0xFFFFFFFFL) < threshold)
+				m = ((nextLong() >>> 32) * bound);
+		}
+		return (int) (m >>> 32);
+	}
+}
@@ -0,0 +1,166 @@
+/**
+ * RoutingTable
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Greedy next step and distance to a terminal state for every state in a Model at once
+ */
+
+package main;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+public class RoutingTable {
+	//Attributes
+	private int cols;				//Columns in the grid
+	private int[] nextHop;			//Greedy next state of each state, -1 for terminal states
+	private int[] distance;			//Steps from each state to a terminal state, -1 if the greedy policy loops
+	private int[] exit;				//Terminal state each state ends at, -1 if the greedy policy loops
+	private byte[] cells;			//Cell type of each state
+	
+	/**
+	 * Create the routing table for the current greedy policy of a Model
+	 * @param model Model to route through
+	 */
+	public RoutingTable(Model model) {
+		QTable qValues = model.getQValues();
+		int[] transitions = model.getTransitions();
+		int numStates = qValues.getNumStates();
+		this.cols = model.getCols();
+		this.cells = model.getCells();
+		
+		//Take the best action of a row in one batch, then follow it from every non-terminal state
+		nextHop = new int[numStates];
+		IntStream.range(0, model.getRows()).parallel().forEach(row -> {
+			int start = row * cols;
+			qValues.argmax(start, cols, nextHop, start);
+			for (int state = start; state < start + cols; state++)
+				nextHop[state] = cells[state] != Grid.PATH ? -1 : transitions[state * Model.NUM_ACTIONS + nextHop[state]];
+		});
+		
+		//Index the states whose next hop is each state, grouped by next hop
+		int[] predStart = new int[numStates + 1];
+		for (int state = 0; state < numStates; state++)
+			if (nextHop[state] != -1)
+				predStart[nextHop[state] + 1]++;
+		for (int state = 0; state < numStates; state++)
+			predStart[state + 1] += predStart[state];
+		
+		int[] preds = new int[predStart[numStates]];
+		int[] fill = new int[numStates];
+		for (int state = 0; state < numStates; state++)
+			if (nextHop[state] != -1)
+				preds[predStart[nextHop[state]] + fill[nextHop[state]]++] = state;
+		
+		/*
+		 * Every state has one next hop, so the states that end at each terminal state form a tree
+		 * rooted at it and no two trees share a state. Walk each tree on its own thread, anything 
+		 * left unreached leads into a loop
+		 */
+		distance = new int[numStates];
+		exit = new int[numStates];
+		Arrays.fill(distance, -1);
+		Arrays.fill(exit, -1);
+		IntStream.range(0, numStates).parallel()
+			.filter(state -> nextHop[state] == -1 && predStart[state + 1] > predStart[state])
+			.forEach(terminal -> walkTree(terminal, predStart, preds));
+		IntStream.range(0, numStates).parallel().filter(state -> nextHop[state] == -1).forEach(terminal -> {
+			distance[terminal] = 0;
+			exit[terminal] = terminal;
+		});
+	}
+	
+	/**
+	 * Set the distance and exit of every state whose greedy path ends at a terminal state
+	 * @param terminal Terminal state at the root of the tree
+	 * @param predStart Start of each state's predecessors in preds
+	 * @param preds States whose next hop is each state, grouped by next hop
+	 */
+	private void walkTree(int terminal, int[] predStart, int[] preds) {
+		int[] stack = new int[16];
+		int size = 0;
+		stack[size++] = terminal;
+		
+		while (size > 0) {
+			int state = stack[--size];
+			int dist = state == terminal ? 0 : distance[state];
+			
+			for (int i = predStart[state]; i < predStart[state + 1]; i++) {
+				int pred = preds[i];
+				distance[pred] = dist + 1;
+				exit[pred] = terminal;
+				
+				if (size == stack.length)
+					stack = Arrays.copyOf(stack, size * 2);
+				stack[size++] = pred;
+			}
+		}
+	}
+	
+	/**
+	 * Get the greedy next state of every state
+	 * @return Next states indexed by state, -1 for terminal states
+	 */
+	public int[] getNextHops() {
+		return nextHop;
+	}
+	
+	/**
+	 * Get the distance from every state to the terminal state its greedy path ends at
+	 * @return Steps indexed by state, -1 where the greedy policy loops
+	 */
+	public int[] getDistances() {
+		return distance;
+	}
+	
+	/**
+	 * Get the terminal state every state's greedy path ends at
+	 * @return Terminal states indexed by state, -1 where the greedy policy loops
+	 */
+	public int[] getExits() {
+		return exit;
+	}
+	
+	/**
+	 * Get whether the greedy path from a state reaches the goal
+	 * @param state State to start from
+	 * @return Whether the path ends at the goal
+	 */
+	public boolean reachesGoal(int state) {
+		return exit[state] != -1 && cells[exit[state]] == Grid.GOAL;
+	}
+	
+	/**
+	 * Get the greedy path from a state
+	 * @param state State to start from
+	 * @return States along the path including both ends, or null if the greedy policy loops
+	 */
+	public int[] getPath(int state) {
+		if (distance[state] == -1)
+			return null;
+		
+		int[] path = new int[distance[state] + 1];
+		path[0] = state;
+		for (int i = 1; i < path.length; i++)
+			path[i] = nextHop[path[i - 1]];
+		return path;
+	}
+	
+	/**
+	 * Get the row of a state
+	 * @param state Index of the state
+	 * @return Row of the state in the grid
+	 */
+	public int getRow(int state) {
+		return state / cols;
+	}
+	
+	/**
+	 * Get the column of a state
+	 * @param state Index of the state
+	 * @return Column of the state in the grid
+	 */
+	public int getCol(int state) {
+		return state % cols;
+	}
+}
@@ -0,0 +1,61 @@
+/**
+ * Schedule
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Value of a training parameter (epsilon, learning rate) as training goes on
+ */
+
+package main;
+
+public interface Schedule {
+	
+	/**
+	 * Get the value of the parameter
+	 * @param episode Index of the current episode
+	 * @param visits Number of times the agent has been in the current state
+	 * @return Value of the parameter
+	 */
+	public double getValue(int episode, int visits);
+	
+	/**
+	 * Create a schedule that never changes
+	 * @param value Value of the parameter
+	 * @return Constant schedule
+	 */
+	public static Schedule constant(double value) {
+		return (episode, visits) -> value;
+	}
+	
+	/**
+	 * Create a schedule that moves linearly from one value to another, then holds
+	 * @param start Value at the first episode
+	 * @param end Value from the last episode of the ramp on
+	 * @param episodes Number of episodes to ramp over
+	 * @return Linear schedule
+	 */
+	public static Schedule linear(double start, double end, int episodes) {
+		return (episode, visits) -> episode >= episodes ? end : start + (end - start) * episode / episodes;
+	}
+	
+	/**
+	 * Create a schedule that approaches a value exponentially
+	 * @param start Value at the first episode
+	 * @param end Value approached as episodes go on
+	 * @param rate Fraction of the remaining distance to the end value covered each episode
+	 * @return Exponential schedule
+	 */
+	public static Schedule exponential(double start, double end, double rate) {
+		return (episode, visits) -> end + (start - end) * Math.pow(1 - rate, episode);
+	}
+	
+	/**
+	 * Create a schedule that approaches a value as the agent visits a state more often
+	 * @param start Value in a state that has never been visited
+	 * @param end Value approached as the state is visited
+	 * @param rate How quickly the value moves with each visit
+	 * @return Visit count schedule
+	 */
+	public static Schedule visitCount(double start, double end, double rate) {
+		return (episode, visits) -> end + (start - end) / (1 + rate * visits);
+	}
+}
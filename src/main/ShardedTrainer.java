@@ -0,0 +1,230 @@
+/**
+ * ShardedTrainer
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Trains private copies of a Model's Q-table on several threads and periodically merges them
+ */
+
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+
+public class ShardedTrainer {
+	//Constants
+	private static final int MERGE_CHUNK = 1 << 14;		//Q-values merged by one task before splitting
+	
+	//How the shards are combined into the master table
+	public enum MergeStrategy {
+		AVERAGE,
+		MAX
+	}
+	
+	//Attributes
+	private Model model;								//Model to train
+	private int threads;								//Number of shards trained at once
+	private int mergeInterval;							//Episodes each shard runs between merges
+	private MergeStrategy strategy;						//How shards are combined
+	private double[] master;							//Model's Q-values
+	private FlatQTable[] shards;							//Private Q-table of each thread
+	private long trainTime;								//Time spent training in nanoseconds
+	private long mergeTime;								//Time spent merging in nanoseconds
+	private long[] shardSteps;							//Training steps taken by each shard
+	private int[][] shardVisits;						//Visit counts of each shard, added into the Model's once training ends
+	
+	/**
+	 * Create a sharded trainer
+	 * @param model Model to train, must store its Q-values in a FlatQTable
+	 * @param threads Number of shards trained at once
+	 * @param mergeInterval Episodes each shard runs between merges
+	 * @param strategy How the shards are combined into the master table
+	 * @throws IllegalArgumentException If the Model does not use a FlatQTable, or threads or mergeInterval is below 1
+	 */
+	public ShardedTrainer(Model model, int threads, int mergeInterval, MergeStrategy strategy) {
+		if (!(model.getQValues() instanceof FlatQTable))
+			throw new IllegalArgumentException("ShardedTrainer: Model must use a FlatQTable");
+		if (threads < 1)
+			throw new IllegalArgumentException("ShardedTrainer: Need at least 1 thread, got " + threads);
+		if (mergeInterval < 1)
+			throw new IllegalArgumentException("ShardedTrainer: Merge interval must be at least 1 episode, got " + mergeInterval);
+		
+		//Set attributes
+		this.model = model;
+		this.threads = threads;
+		this.mergeInterval = mergeInterval;
+		this.strategy = strategy;
+		this.master = ((FlatQTable) model.getQValues()).getValues();
+		this.shards = new FlatQTable[threads];
+		this.shardSteps = new long[threads];
+		this.shardVisits = new int[threads][];
+	}
+	
+	/**
+	 * Get the time spent training the shards
+	 * @return Training time in seconds
+	 */
+	public double getTrainTime() {
+		return trainTime / 1e9;
+	}
+	
+	/**
+	 * Get the training steps taken by every shard in the last call to train()
+	 * @return Number of steps
+	 */
+	public long getTrainingSteps() {
+		long steps = 0;
+		for (long shard : shardSteps)
+			steps += shard;
+		return steps;
+	}
+	
+	/**
+	 * Get the time spent merging the shards
+	 * @return Merging time in seconds
+	 */
+	public double getMergeTime() {
+		return mergeTime / 1e9;
+	}
+	
+	/**
+	 * Train the model for its number of episodes
+	 * 1. Copy the master table into every shard
+	 * 2. Each thread trains its shard for the merge interval
+	 * 3. Merge the shards into the master table and copy it back to every shard
+	 * 4. Repeat from 2 until every thread has run its share of the episodes
+	 * @throws IllegalStateException If a shard fails or the thread is interrupted, with the shard's exception as the cause
+	 */
+	public void train() {
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			train(pool);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Train the model for its number of episodes on a pool of threads
+	 * @param pool Pool to train and merge the shards on
+	 */
+	private void train(ForkJoinPool pool) {
+		int numEpisodes = model.getNumEpisodes();
+		trainTime = 0;
+		mergeTime = 0;
+		Arrays.fill(shardSteps, 0);
+		
+		//Give each shard a copy of the master table, its own generator and an even share of the episodes
+		long startTime = System.nanoTime();
+		int[] remaining = new int[threads];
+		int[] completed = new int[threads];
+		Rng[] rngs = new Rng[threads];
+		for (int t = 0; t < threads; t++) {
+			shards[t] = new FlatQTable(model.getQValues().getNumStates(), Model.NUM_ACTIONS);
+			System.arraycopy(master, 0, shards[t].getValues(), 0, master.length);
+			remaining[t] = numEpisodes / threads + (t < numEpisodes % threads ? 1 : 0);
+			rngs[t] = model.getRng().split();
+			shardVisits[t] = new int[model.getQValues().getNumStates()];
+		}
+		mergeTime += System.nanoTime() - startTime;
+		
+		while (remaining[0] > 0) {
+			//Train every shard independently
+			startTime = System.nanoTime();
+			ArrayList<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+			for (int t = 0; t < threads; t++) {
+				int shard = t;
+				int firstEpisode = completed[t];
+				int episodes = Math.min(mergeInterval, remaining[t]);
+				remaining[t] -= episodes;
+				completed[t] += episodes;
+				
+				tasks.add(() -> {
+					EpisodeStats stats = new EpisodeStats();
+					for (int episode = firstEpisode; episode < firstEpisode + episodes; episode++) {
+						model.runEpisode(shards[shard], shardVisits[shard], rngs[shard], stats, episode * threads + shard);
+						shardSteps[shard] += stats.steps;
+					}
+					return null;
+				});
+			}
+			awaitShards(pool.invokeAll(tasks));
+			trainTime += System.nanoTime() - startTime;
+			
+			//Combine the shards and share the result
+			startTime = System.nanoTime();
+			pool.invoke(new Merge(0, master.length));
+			mergeTime += System.nanoTime() - startTime;
+		}
+		
+		model.mergeVisits(shardVisits);
+		Util.println("Trained for", numEpisodes, "episodes on", threads, "shards, training took", 
+				getTrainTime(), "seconds, merging took", getMergeTime(), "seconds");
+	}
+	
+	/**
+	 * Wait for every shard to finish its episodes, so a shard that failed stops training instead of being merged
+	 * @param results Result of each shard's task
+	 */
+	private void awaitShards(List<Future<Void>> results) {
+		for (int t = 0; t < results.size(); t++) {
+			try {
+				results.get(t).get();
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("ShardedTrainer: Shard " + t + " failed", e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("ShardedTrainer: Interrupted while training", e);
+			}
+		}
+	}
+	
+	/**
+	 * Merges a range of the shards into the master table and copies the result back into every shard
+	 */
+	private class Merge extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private int start;			//First index to merge
+		private int end;			//Index after the last one to merge
+		
+		/**
+		 * Create a merge over a range of Q-values
+		 * @param start First index to merge
+		 * @param end Index after the last one to merge
+		 */
+		private Merge(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+		
+		@Override
+		protected void compute() {
+			//Split large ranges in half
+			if (end - start > MERGE_CHUNK) {
+				int mid = (start + end) >>> 1;
+				invokeAll(new Merge(start, mid), new Merge(mid, end));
+				return;
+			}
+			
+			for (int i = start; i < end; i++) {
+				double merged = shards[0].getValues()[i];
+				for (int t = 1; t < threads; t++) {
+					double value = shards[t].getValues()[i];
+					merged = strategy == MergeStrategy.MAX ? Math.max(merged, value) : merged + value;
+				}
+				if (strategy == MergeStrategy.AVERAGE)
+					merged /= threads;
+				
+				master[i] = merged;
+				for (int t = 0; t < threads; t++)
+					shards[t].getValues()[i] = merged;
+			}
+		}
+	}
+}
@@ -0,0 +1,431 @@
+/**
+ * Snapshot
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Saves and loads a Model's grid and Q-table in a versioned binary file
+ */
+
+package main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+public class Snapshot {
+	/*
+	 * File layout, little-endian
+	 * int magic, int version, int rows, int cols, int numEpisodes, int numActions
+	 * byte[rows * cols] cell types, padded with zeros to a multiple of 8 bytes
+	 * double[rows * cols * numActions] Q-values, indexed by state * numActions + action
+	 * long CRC32 of every byte before it
+	 */
+	
+	//Constants
+	static final int MAGIC = 0x4E524C51;							//"QLRN" in little-endian
+	static final int VERSION = 1;									//Version of the file layout
+	static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;			//Byte order of every value
+	private static final int HEADER_SIZE = 6 * Integer.BYTES;		//Size of the header in bytes
+	private static final int BUFFER_SIZE = 1 << 20;					//Bytes read or written at a time
+	
+	/**
+	 * Save a Model's grid and Q-table
+	 * @param model Model to save
+	 * @param filename Name of the file to write
+	 * @throws IOException If the file cannot be written
+	 */
+	public static void save(Model model, String filename) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE, 
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			Writer out = new Writer(channel);
+			writeModel(out, model.getRewards(), model.getNumEpisodes(), model.getQValues());
+			out.finish();
+		}
+	}
+	
+	/**
+	 * Load a Model onto the heap, checking its checksum
+	 * @param filename Name of the file to read
+	 * @return Model with the saved grid and Q-table
+	 * @throws IOException If the file cannot be read or is not a valid snapshot
+	 */
+	public static Model load(String filename) throws IOException {
+		return load(filename, false, true);
+	}
+	
+	/**
+	 * Load a Model
+	 * @param filename Name of the file to read
+	 * @param map Whether to memory-map the Q-table instead of reading it onto the heap, mapped tables are read-only
+	 * @param verify Whether to check the checksum, which reads the whole file
+	 * @return Model with the saved grid and Q-table
+	 * @throws IOException If the file cannot be read or is not a valid snapshot
+	 */
+	public static Model load(String filename, boolean map, boolean verify) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+			Reader in = new Reader(channel);
+			Model model = readModel(in, channel, 0, filename, map, verify);
+			if (verify || !map)
+				in.verify(filename);
+			return model;
+		}
+	}
+	
+	/**
+	 * Read the header, grid and Q-table of a snapshot
+	 * @param in Reader positioned at the start of the snapshot
+	 * @param channel File being read, for mapping the Q-table
+	 * @param start Offset of the snapshot in the file
+	 * @param filename Name of the file, for error messages
+	 * @param map Whether to memory-map the Q-table instead of reading it onto the heap
+	 * @param verify Whether to read the mapped Q-values into the checksum
+	 * @return Model with the saved grid and Q-table
+	 */
+	static Model readModel(Reader in, FileChannel channel, long start, String filename, boolean map, boolean verify) throws IOException {
+		//Check the header
+		if (in.getInt() != MAGIC)
+			throw new IOException(filename + " is not a snapshot");
+		int version = in.getInt();
+		if (version != VERSION)
+			throw new IOException(filename + " has unsupported version " + version);
+		int rows = in.getInt();
+		int cols = in.getInt();
+		int numEpisodes = in.getInt();
+		int numActions = in.getInt();
+		if (numActions != Model.NUM_ACTIONS || rows <= 0 || cols <= 0)
+			throw new IOException(filename + " has an invalid header");
+		
+		//Check the sizes in the header before allocating anything from them, the checksum is only read at the end
+		int numStates;
+		try {
+			numStates = Math.multiplyExact(rows, cols);
+		} catch (ArithmeticException e) {
+			throw new IOException(filename + " has too many cells: " + rows + " x " + cols);
+		}
+		long numValues = (long) numStates * numActions;
+		long qOffset = start + HEADER_SIZE + align(numStates);
+		if (qOffset + numValues * Double.BYTES + Long.BYTES > channel.size())
+			throw new IOException(filename + " is shorter than its header says");
+		if (!map && numValues > Integer.MAX_VALUE)
+			throw new IOException(filename + " has too many Q-values to load onto the heap, map it instead");
+		
+		//Read the cells onto the heap, paths and solvers look them up on every step
+		Grid grid = new Grid(rows, cols);
+		in.getBytes(grid.getCells());
+		in.skip(getPadding(numStates));
+		
+		QTable qValues;
+		if (map) {
+			//Only read the Q-values to check them, the Model reads them from the mapping
+			qValues = new MappedQTable(channel, qOffset, numStates, numActions, ORDER);
+			if (verify)
+				in.skip(numValues * Double.BYTES);
+		} else {
+			FlatQTable table = new FlatQTable(numStates, numActions);
+			in.getDoubles(table.getValues());
+			qValues = table;
+		}
+		return new Model(grid, numEpisodes, qValues);
+	}
+	
+	/**
+	 * Write the header, grid and Q-table of a snapshot
+	 * @param out Writer to write to
+	 * @param grid Grid of the Model
+	 * @param numEpisodes Number of episodes the Model trains for
+	 * @param qValues Q-table of the Model
+	 */
+	static void writeModel(Writer out, Grid grid, int numEpisodes, QTable qValues) throws IOException {
+		out.putInt(MAGIC);
+		out.putInt(VERSION);
+		out.putInt(grid.getRows());
+		out.putInt(grid.getCols());
+		out.putInt(numEpisodes);
+		out.putInt(qValues.getNumActions());
+		
+		out.putBytes(grid.getCells());
+		out.putBytes(new byte[getPadding(grid.getCells().length)]);
+		
+		//Write flat tables straight from their array
+		if (qValues instanceof FlatQTable) {
+			out.putDoubles(((FlatQTable) qValues).getValues());
+		} else {
+			for (int state = 0; state < qValues.getNumStates(); state++)
+				for (int action = 0; action < qValues.getNumActions(); action++)
+					out.putDouble(qValues.get(state, action));
+		}
+	}
+	
+	/**
+	 * Round a size up to a multiple of 8 bytes
+	 * @param size Size in bytes
+	 * @return Aligned size in bytes
+	 */
+	private static long align(long size) {
+		return (size + 7) & ~7L;
+	}
+	
+	/**
+	 * Get the padding needed to align a size to a multiple of 8 bytes
+	 * @param size Size in bytes
+	 * @return Number of padding bytes
+	 */
+	private static int getPadding(long size) {
+		return (int) (align(size) - size);
+	}
+	
+	/**
+	 * Writes values to a file through a buffer, keeping a checksum of everything written
+	 */
+	static class Writer {
+		private FileChannel channel;		//File to write to
+		private ByteBuffer buffer;			//Values not yet written
+		private CRC32 crc;					//Checksum of every byte written
+		
+		/**
+		 * Create a writer
+		 * @param channel File to write to
+		 */
+		Writer(FileChannel channel) {
+			this.channel = channel;
+			this.buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ORDER);
+			this.crc = new CRC32();
+		}
+		
+		/**
+		 * Make room in the buffer
+		 * @param bytes Number of bytes needed
+		 */
+		private void ensure(int bytes) throws IOException {
+			if (buffer.remaining() < bytes)
+				flush();
+		}
+		
+		/**
+		 * Write the buffer to the file
+		 */
+		private void flush() throws IOException {
+			crc.update(buffer.array(), 0, buffer.position());
+			buffer.flip();
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+			buffer.clear();
+		}
+		
+		/**
+		 * Write an int
+		 * @param value Value to write
+		 */
+		void putInt(int value) throws IOException {
+			ensure(Integer.BYTES);
+			buffer.putInt(value);
+		}
+		
+		/**
+		 * Write a long
+		 * @param value Value to write
+		 */
+		void putLong(long value) throws IOException {
+			ensure(Long.BYTES);
+			buffer.putLong(value);
+		}
+		
+		/**
+		 * Write a double
+		 * @param value Value to write
+		 */
+		void putDouble(double value) throws IOException {
+			ensure(Double.BYTES);
+			buffer.putDouble(value);
+		}
+		
+		/**
+		 * Write an array of bytes
+		 * @param values Values to write
+		 */
+		void putBytes(byte[] values) throws IOException {
+			for (int i = 0; i < values.length; ) {
+				ensure(1);
+				int count = Math.min(buffer.remaining(), values.length - i);
+				buffer.put(values, i, count);
+				i += count;
+			}
+		}
+		
+		/**
+		 * Write an array of doubles
+		 * @param values Values to write
+		 */
+		void putDoubles(double[] values) throws IOException {
+			for (int i = 0; i < values.length; ) {
+				ensure(Double.BYTES);
+				int count = Math.min(buffer.remaining() / Double.BYTES, values.length - i);
+				buffer.asDoubleBuffer().put(values, i, count);
+				buffer.position(buffer.position() + count * Double.BYTES);
+				i += count;
+			}
+		}
+		
+		/**
+		 * Write an array of ints
+		 * @param values Values to write
+		 */
+		void putInts(int[] values) throws IOException {
+			for (int i = 0; i < values.length; ) {
+				ensure(Integer.BYTES);
+				int count = Math.min(buffer.remaining() / Integer.BYTES, values.length - i);
+				buffer.asIntBuffer().put(values, i, count);
+				buffer.position(buffer.position() + count * Integer.BYTES);
+				i += count;
+			}
+		}
+		
+		/**
+		 * Write the checksum of everything written so far and flush the file
+		 */
+		void finish() throws IOException {
+			flush();
+			putLong(crc.getValue());
+			buffer.flip();
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+			buffer.clear();
+		}
+	}
+	
+	/**
+	 * Reads values from a file through a buffer, keeping a checksum of everything read
+	 */
+	static class Reader {
+		private FileChannel channel;		//File to read from
+		private ByteBuffer buffer;			//Values read but not yet returned
+		private CRC32 crc;					//Checksum of every byte returned
+		
+		/**
+		 * Create a reader
+		 * @param channel File to read from
+		 */
+		Reader(FileChannel channel) {
+			this.channel = channel;
+			this.buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ORDER);
+			this.buffer.flip();
+			this.crc = new CRC32();
+		}
+		
+		/**
+		 * Fill the buffer until it holds enough bytes
+		 * @param bytes Number of bytes needed
+		 */
+		private void ensure(int bytes) throws IOException {
+			if (buffer.remaining() >= bytes)
+				return;
+			
+			buffer.compact();
+			while (buffer.position() < bytes)
+				if (channel.read(buffer) == -1)
+					throw new IOException("Snapshot ended early");
+			buffer.flip();
+		}
+		
+		/**
+		 * Add bytes about to be returned from the buffer to the checksum
+		 * @param bytes Number of bytes
+		 */
+		private void check(int bytes) {
+			crc.update(buffer.array(), buffer.arrayOffset() + buffer.position(), bytes);
+		}
+		
+		/**
+		 * Read an int
+		 * @return Value read
+		 */
+		int getInt() throws IOException {
+			ensure(Integer.BYTES);
+			check(Integer.BYTES);
+			return buffer.getInt();
+		}
+		
+		/**
+		 * Read a long
+		 * @return Value read
+		 */
+		long getLong() throws IOException {
+			ensure(Long.BYTES);
+			check(Long.BYTES);
+			return buffer.getLong();
+		}
+		
+		/**
+		 * Read an array of bytes
+		 * @param values Array to fill
+		 */
+		void getBytes(byte[] values) throws IOException {
+			for (int i = 0; i < values.length; ) {
+				ensure(1);
+				int count = Math.min(buffer.remaining(), values.length - i);
+				check(count);
+				buffer.get(values, i, count);
+				i += count;
+			}
+		}
+		
+		/**
+		 * Read an array of doubles
+		 * @param values Array to fill
+		 */
+		void getDoubles(double[] values) throws IOException {
+			for (int i = 0; i < values.length; ) {
+				ensure(Double.BYTES);
+				int count = Math.min(buffer.remaining() / Double.BYTES, values.length - i);
+				check(count * Double.BYTES);
+				buffer.asDoubleBuffer().get(values, i, count);
+				buffer.position(buffer.position() + count * Double.BYTES);
+				i += count;
+			}
+		}
+		
+		/**
+		 * Read an array of ints
+		 * @param values Array to fill
+		 */
+		void getInts(int[] values) throws IOException {
+			for (int i = 0; i < values.length; ) {
+				ensure(Integer.BYTES);
+				int count = Math.min(buffer.remaining() / Integer.BYTES, values.length - i);
+				check(count * Integer.BYTES);
+				buffer.asIntBuffer().get(values, i, count);
+				buffer.position(buffer.position() + count * Integer.BYTES);
+				i += count;
+			}
+		}
+		
+		/**
+		 * Read past bytes, still adding them to the checksum
+		 * @param bytes Number of bytes to skip
+		 */
+		void skip(long bytes) throws IOException {
+			while (bytes > 0) {
+				ensure(1);
+				int count = (int) Math.min(buffer.remaining(), bytes);
+				check(count);
+				buffer.position(buffer.position() + count);
+				bytes -= count;
+			}
+		}
+		
+		/**
+		 * Read the stored checksum and compare it to the checksum of everything read
+		 * @param filename Name of the file, for the error message
+		 * @throws IOException If the checksums do not match
+		 */
+		void verify(String filename) throws IOException {
+			long expected = crc.getValue();
+			ensure(Long.BYTES);
+			if (buffer.getLong() != expected)
+				throw new IOException(filename + " failed its checksum");
+		}
+	}
+}
@@ -0,0 +1,49 @@
+/**
+ * StateSet
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Reusable bitset of state indices
+ */
+
+package main;
+
+public class StateSet {
+	//Attributes
+	private long[] words;		//One bit per state
+	
+	/**
+	 * Create an empty set
+	 * @param numStates Number of possible states, states are in [0, numStates)
+	 */
+	public StateSet(int numStates) {
+		this.words = new long[(numStates + 63) >>> 6];
+	}
+	
+	/**
+	 * Get whether a state is in the set
+	 * @param state State to check
+	 * @return Whether the state is in the set
+	 */
+	public boolean contains(int state) {
+		return (words[state >>> 6] & (1L << state)) != 0;
+	}
+	
+	/**
+	 * Add a state to the set
+	 * @param state State to add
+	 * @return Whether the state was not already in the set
+	 */
+	public boolean add(int state) {
+		long word = words[state >>> 6];
+		words[state >>> 6] = word | (1L << state);
+		return (word & (1L << state)) == 0;
+	}
+	
+	/**
+	 * Remove a state from the set
+	 * @param state State to remove
+	 */
+	public void remove(int state) {
+		words[state >>> 6] &= ~(1L << state);
+	}
+}
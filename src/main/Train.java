@@ -0,0 +1,183 @@
+/**
+ * Train
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Headless entry point that trains a Model from an environment file without loading any AWT or Swing classes 
+ * (unless a heatmap is exported)
+ */
+
+package main;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+public class Train {
+	//Constants
+	private static final String USAGE = "Usage: Train file.env [--episodes n] [--threads n] [--seed n] "
+			+ "[--algorithm qlearning|sharded|value-iteration|sweeping] [--snapshot file] [--heatmap file.png]";
+	private static final int MERGE_INTERVAL = 50;			//Episodes each shard runs between merges
+	private static final double THRESHOLD = 1e-6;			//Convergence threshold of the planners
+	private static final int HEATMAP_PIXELS_PER_CELL = 8;	//Largest side length of a cell in the exported heatmap
+	
+	//Algorithms that can fill in the Q-table
+	public enum Algorithm {
+		QLEARNING,			//Q-learning, Hogwild on more than one thread
+		SHARDED,			//Q-learning on private shards merged by averaging
+		VALUE_ITERATION,	//In-place value iteration on the known model
+		SWEEPING;			//Prioritized sweeping on the known model
+	}
+	
+	/**
+	 * Train a Model and print a JSON summary of the run
+	 * The summary is the only output on standard out, log messages go to standard error
+	 * @param args Environment file and options
+	 */
+	public static void main(String[] args) {
+		PrintStream out = System.out;
+		System.setOut(System.err);
+		
+		//Read the options
+		String filename = null;
+		int episodes = -1;
+		int threads = 1;
+		long seed = -1;
+		Algorithm algorithm = Algorithm.QLEARNING;
+		String snapshot = null;
+		String heatmap = null;
+		try {
+			for (int i = 0; i < args.length; i++) {
+				if (!args[i].startsWith("--")) {
+					filename = args[i];
+					continue;
+				} else if (i + 1 == args.length) {
+					throw new IllegalArgumentException("Missing value for " + args[i]);
+				}
+				
+				switch (args[i]) {
+					case "--episodes":
+						episodes = Integer.parseInt(args[++i]);
+						break;
+					case "--threads":
+						threads = Integer.parseInt(args[++i]);
+						if (threads < 1)
+							throw new IllegalArgumentException("--threads must be at least 1, got " + threads);
+						break;
+					case "--seed":
+						seed = Long.parseLong(args[++i]);
+						break;
+					case "--algorithm":
+						algorithm = Algorithm.valueOf(args[++i].toUpperCase().replace('-', '_'));
+						break;
+					case "--snapshot":
+						snapshot = args[++i];
+						break;
+					case "--heatmap":
+						heatmap = args[++i];
+						break;
+					default:
+						throw new IllegalArgumentException("Unknown option " + args[i]);
+				}
+			}
+			if (filename == null)
+				throw new IllegalArgumentException("No environment file given");
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			System.exit(2);
+		}
+		
+		//Load the environment
+		long loadStart = System.nanoTime();
+		Model model;
+		try {
+			EnvLoader loader = new EnvLoader(filename);
+			model = new Model(loader.getGrid(), episodes >= 0 ? episodes : loader.getNumEpisodes());
+		} catch (IOException | NumberFormatException e) {
+			System.err.println("Train: Could not load " + filename + ": " + e.getMessage());
+			System.exit(1);
+			return;
+		}
+		double loadMillis = (System.nanoTime() - loadStart) / 1e6;
+		if (seed >= 0)
+			model.setSeed(seed);
+		
+		//Train with the chosen algorithm
+		long startupMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+		long trainStart = System.nanoTime();
+		long updates = 0;
+		switch (algorithm) {
+			case QLEARNING:
+				if (threads > 1)
+					model.trainParallel(threads);
+				else
+					model.train();
+				updates = model.getTrainingSteps();
+				break;
+			case SHARDED:
+				ShardedTrainer trainer = new ShardedTrainer(model, threads, MERGE_INTERVAL, ShardedTrainer.MergeStrategy.AVERAGE);
+				trainer.train();
+				updates = trainer.getTrainingSteps();
+				break;
+			case VALUE_ITERATION:
+				updates = (long) new ValueIteration(model, THRESHOLD).solveInPlace() * model.getNonTerminalStates().length;
+				break;
+			case SWEEPING:
+				updates = new PrioritizedSweeping(model, THRESHOLD).solve();
+				break;
+		}
+		double trainMillis = (System.nanoTime() - trainStart) / 1e6;
+		
+		//Count the states whose greedy path reaches the goal
+		RoutingTable routes = new RoutingTable(model);
+		int[] states = model.getNonTerminalStates();
+		int reachGoal = 0;
+		for (int state : states)
+			if (routes.reachesGoal(state))
+				reachGoal++;
+		
+		//Save the trained model
+		if (snapshot != null) {
+			try {
+				Snapshot.save(model, snapshot);
+			} catch (IOException e) {
+				System.err.println("Train: Could not save " + snapshot + ": " + e.getMessage());
+				System.exit(1);
+			}
+		}
+		
+		//Draw the trained Q-values, which is the only time image classes are loaded
+		if (heatmap != null) {
+			try {
+				System.setProperty("java.awt.headless", "true");
+				Heatmap.export(model, heatmap, HEATMAP_PIXELS_PER_CELL, true);
+			} catch (IOException e) {
+				System.err.println("Train: Could not save " + heatmap + ": " + e.getMessage());
+				System.exit(1);
+			}
+		}
+		
+		//Updates per second is null rather than Infinity or NaN when training took no measurable time
+		String updatesPerSecond = trainMillis > 0 ? String.format(Locale.ROOT, "%.0f", updates / (trainMillis / 1e3)) : "null";
+		out.println(String.format(Locale.ROOT, "{\"env\": \"%s\", \"rows\": %d, \"cols\": %d, \"algorithm\": \"%s\", "
+				+ "\"episodes\": %d, \"threads\": %d, \"seed\": %s, \"updates\": %d, "
+				+ "\"loadMillis\": %.3f, \"startupToTrainMillis\": %d, \"trainMillis\": %.3f, "
+				+ "\"updatesPerSecond\": %s, \"statesReachingGoal\": %d, \"states\": %d, \"snapshot\": %s, "
+				+ "\"heatmap\": %s}",
+				escape(filename), model.getRows(), model.getCols(), algorithm.name().toLowerCase().replace('_', '-'),
+				model.getNumEpisodes(), threads, seed >= 0 ? seed : "null", updates, loadMillis, startupMillis, trainMillis,
+				updatesPerSecond, reachGoal, states.length,
+				snapshot == null ? "null" : "\"" + escape(snapshot) + "\"", 
+				heatmap == null ? "null" : "\"" + escape(heatmap) + "\""));
+	}
+	
+	/**
+	 * Escape a string for a JSON string literal
+	 * @param value String to escape
+	 * @return Escaped string
+	 */
+	private static String escape(String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"");
+	}
+}
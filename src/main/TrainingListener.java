@@ -0,0 +1,32 @@
+/**
+ * TrainingListener
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Receives the progress of training after every episode
+ */
+
+package main;
+
+public interface TrainingListener {
+	
+	/**
+	 * Called before the first episode of a training run
+	 * @param numEpisodes Number of episodes the run will train for
+	 */
+	public default void trainingStarted(int numEpisodes) {}
+	
+	/**
+	 * Called after every episode, from the thread that ran it
+	 * Parallel training calls this from several threads at once, so it must not lock or block
+	 * @param episode Index of the episode
+	 * @param stats Statistics and phase timings of the episode, reused once this returns
+	 * @param epsilon Epsilon of an unvisited state in the episode
+	 */
+	public void episodeFinished(int episode, EpisodeStats stats, double epsilon);
+	
+	/**
+	 * Called after the last episode of a training run
+	 * @param episodes Number of episodes trained
+	 */
+	public default void trainingFinished(int episodes) {}
+}
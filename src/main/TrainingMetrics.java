@@ -0,0 +1,184 @@
+/**
+ * TrainingMetrics
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Listener that counts training progress without locks and exposes it as a JMX MBean
+ */
+
+package main;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public class TrainingMetrics implements TrainingListener, TrainingMetricsMBean {
+	//Constants
+	private static final int BUCKETS = 32;					//Buckets in the steps per episode histogram
+	
+	//Attributes
+	private LongAdder episodes;					//Episodes trained
+	private LongAdder steps;					//Steps taken
+	private DoubleAdder sumError;				//Sum of the magnitude of every temporal difference
+	private LongAdder episodeNanos;				//Time spent running episodes
+	private LongAdder checkpointNanos;			//Time spent saving checkpoints
+	private LongAdder convergenceNanos;			//Time spent checking for convergence
+	private LongAdder trainedNanos;				//Length of every finished training run
+	private AtomicLongArray histogram;			//Episodes by the power of two their step count falls under
+	private volatile long runStart;				//Time the current training run started, 0 if none is running
+	private volatile double epsilon;			//Epsilon of the last episode
+	private volatile double lastMaxChange;		//Largest change to a Q-value in the last episode
+	
+	/**
+	 * Create an empty set of metrics
+	 */
+	public TrainingMetrics() {
+		episodes = new LongAdder();
+		steps = new LongAdder();
+		sumError = new DoubleAdder();
+		episodeNanos = new LongAdder();
+		checkpointNanos = new LongAdder();
+		convergenceNanos = new LongAdder();
+		trainedNanos = new LongAdder();
+		histogram = new AtomicLongArray(BUCKETS);
+	}
+	
+	/**
+	 * Register the metrics with the platform MBean server
+	 * @param name Name to tell these metrics apart from those of other models
+	 * @return Name the metrics were registered under
+	 */
+	public ObjectName register(String name) throws JMException {
+		ObjectName objectName = new ObjectName("main:type=TrainingMetrics,name=" + ObjectName.quote(name));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		return objectName;
+	}
+	
+	@Override
+	public void trainingStarted(int numEpisodes) {
+		runStart = System.nanoTime();
+	}
+	
+	@Override
+	public void episodeFinished(int episode, EpisodeStats stats, double epsilon) {
+		episodes.increment();
+		steps.add(stats.steps);
+		sumError.add(stats.sumError);
+		episodeNanos.add(stats.episodeNanos);
+		if (stats.checkpointNanos != 0)
+			checkpointNanos.add(stats.checkpointNanos);
+		if (stats.convergenceNanos != 0)
+			convergenceNanos.add(stats.convergenceNanos);
+		histogram.incrementAndGet(Math.min(BUCKETS - 1, 32 - Integer.numberOfLeadingZeros(stats.steps)));
+		this.epsilon = epsilon;
+		this.lastMaxChange = stats.maxChange;
+	}
+	
+	@Override
+	public void trainingFinished(int episodes) {
+		trainedNanos.add(System.nanoTime() - runStart);
+		runStart = 0;
+	}
+	
+	/**
+	 * Get the time spent training, including the run in progress
+	 * @return Time in seconds
+	 */
+	private double getTrainingSeconds() {
+		long start = runStart;
+		return (trainedNanos.sum() + (start != 0 ? System.nanoTime() - start : 0)) / 1e9;
+	}
+	
+	@Override
+	public long getEpisodes() {
+		return episodes.sum();
+	}
+	
+	@Override
+	public long getSteps() {
+		return steps.sum();
+	}
+	
+	@Override
+	public double getEpisodesPerSecond() {
+		double seconds = getTrainingSeconds();
+		return seconds > 0 ? episodes.sum() / seconds : 0;
+	}
+	
+	@Override
+	public double getStepsPerSecond() {
+		double seconds = getTrainingSeconds();
+		return seconds > 0 ? steps.sum() / seconds : 0;
+	}
+	
+	@Override
+	public double getMeanTemporalDifference() {
+		long count = steps.sum();
+		return count > 0 ? sumError.sum() / count : 0;
+	}
+	
+	@Override
+	public double getLastMaxChange() {
+		return lastMaxChange;
+	}
+	
+	@Override
+	public double getEpsilon() {
+		return epsilon;
+	}
+	
+	@Override
+	public double getEpisodeMillis() {
+		return episodeNanos.sum() / 1e6;
+	}
+	
+	@Override
+	public double getCheckpointMillis() {
+		return checkpointNanos.sum() / 1e6;
+	}
+	
+	@Override
+	public double getConvergenceMillis() {
+		return convergenceNanos.sum() / 1e6;
+	}
+	
+	@Override
+	public long[] getStepHistogram() {
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++)
+			counts[i] = histogram.get(i);
+		return counts;
+	}
+	
+	@Override
+	public void reset() {
+		episodes.reset();
+		steps.reset();
+		sumError.reset();
+		episodeNanos.reset();
+		checkpointNanos.reset();
+		convergenceNanos.reset();
+		trainedNanos.reset();
+		for (int i = 0; i < BUCKETS; i++)
+			histogram.set(i, 0);
+		if (runStart != 0)
+			runStart = System.nanoTime();
+		epsilon = 0;
+		lastMaxChange = 0;
+	}
+	
+	/**
+	 * Summarize the metrics on one line
+	 * @return Episodes, steps, rates, error and phase timings
+	 */
+	@Override
+	public String toString() {
+		return String.format("%d episodes, %d steps, %.0f episodes/sec, %.0f steps/sec, mean |TD| %.4f, "
+				+ "epsilon %.3f, episodes %.1f ms, checkpoints %.1f ms, convergence %.1f ms", 
+				getEpisodes(), getSteps(), getEpisodesPerSecond(), getStepsPerSecond(), getMeanTemporalDifference(), 
+				getEpsilon(), getEpisodeMillis(), getCheckpointMillis(), getConvergenceMillis());
+	}
+}
@@ -0,0 +1,83 @@
+/**
+ * TrainingMetricsMBean
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Management interface of the training metrics, readable from JConsole or any JMX client
+ */
+
+package main;
+
+public interface TrainingMetricsMBean {
+	
+	/**
+	 * Get the number of episodes trained
+	 * @return Number of episodes
+	 */
+	public long getEpisodes();
+	
+	/**
+	 * Get the number of steps taken
+	 * @return Number of steps
+	 */
+	public long getSteps();
+	
+	/**
+	 * Get the rate episodes have been trained at since training started
+	 * @return Episodes per second
+	 */
+	public double getEpisodesPerSecond();
+	
+	/**
+	 * Get the rate steps have been taken at since training started
+	 * @return Steps per second
+	 */
+	public double getStepsPerSecond();
+	
+	/**
+	 * Get the average magnitude of the temporal difference of every step
+	 * @return Mean absolute temporal difference
+	 */
+	public double getMeanTemporalDifference();
+	
+	/**
+	 * Get the largest change made to a Q-value in the last episode
+	 * @return Largest absolute change
+	 */
+	public double getLastMaxChange();
+	
+	/**
+	 * Get the epsilon of the last episode
+	 * @return Epsilon of an unvisited state
+	 */
+	public double getEpsilon();
+	
+	/**
+	 * Get the total time spent running episodes
+	 * @return Time in milliseconds
+	 */
+	public double getEpisodeMillis();
+	
+	/**
+	 * Get the total time spent saving checkpoints
+	 * @return Time in milliseconds
+	 */
+	public double getCheckpointMillis();
+	
+	/**
+	 * Get the total time spent checking for convergence
+	 * @return Time in milliseconds
+	 */
+	public double getConvergenceMillis();
+	
+	/**
+	 * Get the histogram of steps per episode
+	 * Bucket 0 counts episodes of no steps and bucket i counts episodes of 2^(i-1) to 2^i - 1 steps
+	 * @return Number of episodes in each bucket
+	 */
+	public long[] getStepHistogram();
+	
+	/**
+	 * Clear every metric
+	 */
+	public void reset();
+}
@@ -38,7 +38,7 @@ public class Util {
 	 * @return Random integer in [0, range]
 	 */
 	public static int randInt(int range) {
-		return (int) Math.round(Math.random() * range);
+		return (int) (Math.random() * (range + 1));
 	}
 	
 	/**
@@ -48,7 +48,7 @@ public class Util {
 	 * @return Random integer in [min, max]
 	 */
 	public static int randInt(int min, int max) {
-		return (int) Math.round(((max - min) * Math.random())) + min;
+		return (int) ((max - min + 1) * Math.random()) + min;
 	}
 	
 	/**
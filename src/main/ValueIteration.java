@@ -0,0 +1,116 @@
+/**
+ * ValueIteration
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Solves a Model's Q-table directly from its known rewards and transitions
+ */
+
+package main;
+
+import java.util.stream.IntStream;
+
+public class ValueIteration {
+	//Attributes
+	private Model model;				//Model to solve
+	private QTable qValues;				//Model's Q-values
+	private byte[] cells;				//Cell type of each state
+	private int[] transitions;			//Next state of each (state, action) pair
+	private double[] values;			//Greatest Q-value of each state from the previous sweep
+	private double discountFactor;		//How much to discount future rewards
+	private double threshold;			//Largest change in a sweep that counts as converged
+	
+	/**
+	 * Create a value iteration solver
+	 * @param model Model to fill the Q-table of
+	 * @param threshold Largest change to any Q-value in a sweep that counts as converged
+	 */
+	public ValueIteration(Model model, double threshold) {
+		//Set attributes
+		this.model = model;
+		this.qValues = model.getQValues();
+		this.cells = model.getCells();
+		this.transitions = model.getTransitions();
+		this.discountFactor = model.getDiscountFactor();
+		this.threshold = threshold;
+	}
+	
+	/**
+	 * Solve with synchronous (Jacobi) sweeps, where every update in a sweep uses the values of the previous sweep
+	 * @return Number of sweeps until convergence
+	 */
+	public int solveSynchronous() {
+		values = new double[qValues.getNumStates()];
+		int sweeps = 0;
+		double delta;
+		
+		do {
+			//Snapshot the value of every state, then update every Q-value from the snapshot
+			IntStream.range(0, model.getRows()).parallel().forEach(this::storeRowValues);
+			delta = IntStream.range(0, model.getRows()).parallel().mapToDouble(row -> updateRow(row, true)).max().orElse(0);
+			sweeps++;
+		} while (delta > threshold);
+		
+		values = null;
+		Util.println("Synchronous value iteration converged in", sweeps, "sweeps");
+		return sweeps;
+	}
+	
+	/**
+	 * Solve with in-place (Gauss-Seidel) sweeps, where updates use the newest values available
+	 * Even rows are updated in parallel, then odd rows, so a row never reads a neighbouring row while it is written
+	 * @return Number of sweeps until convergence
+	 */
+	public int solveInPlace() {
+		int halfRows = (model.getRows() + 1) / 2;
+		int sweeps = 0;
+		double delta;
+		
+		do {
+			double evenDelta = IntStream.range(0, halfRows).parallel()
+					.mapToDouble(i -> updateRow(2 * i, false)).max().orElse(0);
+			double oddDelta = IntStream.range(0, model.getRows() / 2).parallel()
+					.mapToDouble(i -> updateRow(2 * i + 1, false)).max().orElse(0);
+			delta = Math.max(evenDelta, oddDelta);
+			sweeps++;
+		} while (delta > threshold);
+		
+		Util.println("In-place value iteration converged in", sweeps, "sweeps");
+		return sweeps;
+	}
+	
+	/**
+	 * Store the greatest Q-value of every state in a row
+	 * @param row Row of the grid
+	 */
+	private void storeRowValues(int row) {
+		int start = model.getState(row, 0);
+		qValues.max(start, model.getCols(), values, start);
+	}
+	
+	/**
+	 * Update the Q-values of every non-terminal state in a row
+	 * Q(s,a) = R(s') + discount * max Q(s',a'), where terminal states have no future value
+	 * @param row Row of the grid
+	 * @param synchronous Whether to read values from the previous sweep instead of the table
+	 * @return Largest change to a Q-value in the row
+	 */
+	private double updateRow(int row, boolean synchronous) {
+		int start = model.getState(row, 0);
+		double delta = 0;
+		
+		for (int state = start; state < start + model.getCols(); state++) {
+			if (cells[state] != Grid.PATH)
+				continue;
+			
+			for (int action = 0; action < Model.NUM_ACTIONS; action++) {
+				int next = transitions[state * Model.NUM_ACTIONS + action];
+				double future = synchronous ? values[next] : qValues.max(next);
+				double q = Model.getReward(cells[next]) + discountFactor * future;
+				
+				delta = Math.max(delta, Math.abs(q - qValues.get(state, action)));
+				qValues.set(state, action, q);
+			}
+		}
+		return delta;
+	}
+}
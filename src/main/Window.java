@@ -8,22 +8,36 @@
 package main;
 
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.Toolkit;
 import java.util.ArrayList;
 
 import javax.swing.JFrame;
-import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.Timer;
 
 public class Window extends JFrame {
+	//Constants
+	private final double SCREEN_FRACTION = 0.8;		//Largest part of the screen the window starts at
+	private final int SCROLL_INCREMENT = 16;		//Pixels scrolled per unit
+	
 	//Attributes
 	//Q-Learning
 	private Model m;
-	private int pixelsPerCell;			//Side length of a cell
+	private int pixelsPerCell;			//Side length of a cell, 0 to fit the grid to the screen
 	
 	//Graphics
-	private JPanel panel;
+	private JScrollPane scrollPane;
 	private Environment env;
 	
+	/**
+	 * Create a window zoomed to fit the grid on the screen
+	 * @param m Model to draw
+	 */
+	public Window(Model m) {
+		this(m, 0);
+	}
+	
 	public Window(Model m, int pixelsPerCell) {
 		//Set attributes
 		this.m = m;
@@ -33,33 +47,59 @@ public class Window extends JFrame {
 	}
 	
 	private void layoutComponents() {
-		//Main panel
-		this.panel = new JPanel();
+		//Environment where learning takes place, zoomed to fit the screen unless a cell size is given
+		Dimension screen = Toolkit.getDefaultToolkit().getScreenSize();
+		int maxPixels = (int) (Math.min(screen.getWidth(), screen.getHeight()) * SCREEN_FRACTION);
+		env = pixelsPerCell > 0 ? new Environment(m, pixelsPerCell) : Environment.fitTo(m, maxPixels);
 		
-		//Environment where learning takes place
-		env = new Environment(m, pixelsPerCell);
-		m.setEnvironment(env);
-		env.setWindow(this);
-		panel.add(env);
-		panel.setBackground(Color.WHITE);
+		//Scroll around grids too big for the screen, control and the mouse wheel zooms
+		scrollPane = new JScrollPane(env);
+		scrollPane.getViewport().setBackground(Color.WHITE);
+		scrollPane.getHorizontalScrollBar().setUnitIncrement(SCROLL_INCREMENT);
+		scrollPane.getVerticalScrollBar().setUnitIncrement(SCROLL_INCREMENT);
 	}
 	
 	public void launch() {
-		int w = env.getWidth();
-		int h = env.getHeight();
-		int sysH = (int) Toolkit.getDefaultToolkit().getScreenSize().getHeight();
+		Dimension screen = Toolkit.getDefaultToolkit().getScreenSize();
+		int w = (int) Math.min(env.getPreferredSize().width, screen.getWidth() * SCREEN_FRACTION);
+		int h = (int) Math.min(env.getPreferredSize().height, screen.getHeight() * SCREEN_FRACTION);
+		scrollPane.getViewport().setPreferredSize(new Dimension(w, h));
 		
 		//Set up the JFrame
 		this.setTitle("Q-Learning");
-		this.setContentPane(panel);
+		this.setContentPane(scrollPane);
 		this.setUndecorated(false);
 		this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-		this.setBounds(w/2, (sysH-h)/2, w, h);
-		this.setResizable(false);
 		this.pack();
+		this.setLocationRelativeTo(null);
 		this.setVisible(true);
 	}
 	
+	/**
+	 * Train the model live, drawing it at a fixed frame rate
+	 * Training runs at full speed on its own thread while a Swing timer samples the agent and Q-values 
+	 * on the event dispatch thread, so drawing never slows training down
+	 * @param fps Frames drawn per second
+	 * @return Thread training the model
+	 * @throws IllegalArgumentException If fps is not positive
+	 */
+	public Thread liveTrain(int fps) {
+		//Check before training starts, so a bad frame rate does not leave a trainer running with nothing drawing it
+		if (fps <= 0)
+			throw new IllegalArgumentException("Window: Frame rate must be positive, got " + fps);
+		Thread trainer = m.liveTrain();
+		Timer timer = new Timer(1000 / fps, e -> {
+			//Draw a last frame once training is done, then stop
+			boolean done = !trainer.isAlive();
+			env.refresh();
+			setTitle("Q-Learning: Episode " + m.getLiveEpisode());
+			if (done)
+				((Timer) e.getSource()).stop();
+		});
+		timer.start();
+		return trainer;
+	}
+	
 	/**
 	 * Show the path on the screen
 	 * @param pathFilename Name of the file storing the path
@@ -0,0 +1,39 @@
+/**
+ * CheckpointerTest
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Tests for saving and resuming training progress
+ */
+
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CheckpointerTest {
+	//Attributes
+	@TempDir
+	Path folder;			//Folder the checkpoints are written to
+	
+	/**
+	 * A run that ends between checkpoints still leaves its final state to resume from
+	 */
+	@Test
+	public void finishWritesFinalState() throws IOException {
+		Model model = new Model(new EnvLoader("src/main/basic.env").getGrid(), 1500);
+		String file = folder.resolve("basic.ckpt").toString();
+		model.setCheckpointer(new Checkpointer(file, 1000));
+		model.train();
+		
+		Model resumed = Checkpointer.resume(file);
+		assertEquals(model.getTrainingSteps(), resumed.getTrainingSteps());
+		assertArrayEquals(model.getVisits(), resumed.getVisits());
+		assertArrayEquals(((FlatQTable) model.getQValues()).getValues(), ((FlatQTable) resumed.getQValues()).getValues());
+	}
+}
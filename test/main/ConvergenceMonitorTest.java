@@ -0,0 +1,41 @@
+/**
+ * ConvergenceMonitorTest
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Tests for stopping training early
+ */
+
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ConvergenceMonitorTest {
+	
+	/**
+	 * A policy only counts as stable once every state that can reach the goal follows its greedy path there
+	 */
+	@Test
+	public void stablePolicyReachesGoal() throws Exception {
+		Grid grid = new EnvLoader("src/main/basic.env").getGrid();
+		StateSet reachable = MapGenerator.findReachable(grid);
+		
+		for (long seed = 0; seed < 5; seed++) {
+			Model model = new Model(grid, 1500);
+			model.setSeed(seed);
+			ConvergenceMonitor monitor = new ConvergenceMonitor(0, 0, 10, 3, 64);
+			model.setConvergenceMonitor(monitor);
+			model.train();
+			if (monitor.getReason() != ConvergenceMonitor.Reason.POLICY_STABLE)
+				continue;
+			
+			RoutingTable routes = new RoutingTable(model);
+			for (int state : model.getNonTerminalStates())
+				if (reachable.contains(state))
+					assertTrue(routes.reachesGoal(state), "Seed " + seed + " stopped with state " + state + " off the goal");
+			assertEquals(PathResult.Outcome.GOAL, model.findPath(0, 0, 1000).getOutcome());
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/**
+ * EnvLoaderTest
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Tests for streaming environment files into a Grid
+ */
+
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class EnvLoaderTest {
+	//Attributes
+	@TempDir
+	Path folder;			//Folder the test files are written to
+	
+	/**
+	 * A file is read into a grid of the same size with the same cells
+	 */
+	@Test
+	public void loadsGrid() throws IOException {
+		EnvLoader loader = new EnvLoader(write(".#.\n..#\n#.g\n".getBytes()));
+		assertEquals(42, loader.getNumEpisodes());
+		assertEquals(3, loader.getGrid().getRows());
+		assertEquals(3, loader.getGrid().getCols());
+		assertEquals(Grid.GOAL, loader.getGrid().getCell(2, 2));
+	}
+	
+	/**
+	 * A 0xFF byte is a bad symbol, not the end of the file
+	 */
+	@Test
+	public void byteFFIsNotEndOfFile() throws IOException {
+		byte[] grid = ".#.\n..#\nX.g\n".getBytes();
+		grid[8] = (byte) 0xFF;
+		String filename = write(grid);
+		assertThrows(IOException.class, () -> new EnvLoader(filename));
+	}
+	
+	/**
+	 * A row with a different number of cells than the first is rejected, naming its line
+	 */
+	@Test
+	public void raggedLineIsRejected() throws IOException {
+		String filename = write(".#.\n..\n#.g\n".getBytes());
+		IOException thrown = assertThrows(IOException.class, () -> new EnvLoader(filename));
+		assertEquals("Line 3 has 2 cells, expected 3", thrown.getMessage());
+	}
+	
+	/**
+	 * Blank lines after the last row are ignored
+	 */
+	@Test
+	public void trailingBlankLinesAreIgnored() throws IOException {
+		EnvLoader loader = new EnvLoader(write(".#.\r\n..#\r\n#.g\r\n\r\n\n".getBytes()));
+		assertEquals(3, loader.getGrid().getRows());
+		assertEquals(3, loader.getGrid().getCols());
+		assertEquals(Grid.GOAL, loader.getGrid().getCell(2, 2));
+	}
+	
+	/**
+	 * A blank line between rows is rejected, naming its line
+	 */
+	@Test
+	public void blankInteriorLineIsRejected() throws IOException {
+		String filename = write(".#.\n..#\n\n#.g\n".getBytes());
+		IOException thrown = assertThrows(IOException.class, () -> new EnvLoader(filename));
+		assertEquals("Line 4 is blank, only the end of the file can have blank lines", thrown.getMessage());
+	}
+	
+	/**
+	 * Write an environment file with 42 episodes
+	 * @param grid Bytes of the grid
+	 * @return Name of the file
+	 */
+	private String write(byte[] grid) throws IOException {
+		Path file = folder.resolve("test.env");
+		byte[] header = "42\n".getBytes();
+		byte[] contents = new byte[header.length + grid.length];
+		System.arraycopy(header, 0, contents, 0, header.length);
+		System.arraycopy(grid, 0, contents, header.length, grid.length);
+		Files.write(file, contents);
+		return file.toString();
+	}
+}
@@ -0,0 +1,66 @@
+/**
+ * EnvironmentTest
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Tests for drawing a Model's Q-values
+ */
+
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class EnvironmentTest {
+	
+	/**
+	 * Labels drawn after training without a refresh() show the trained Q-values, not the cached ones
+	 */
+	@Test
+	public void labelsFollowTraining() throws Exception {
+		assertPaintChangesAfterTraining(false);
+	}
+	
+	/**
+	 * The heatmap drawn after training without a refresh() shows the trained Q-values
+	 */
+	@Test
+	public void heatmapFollowsTraining() throws Exception {
+		assertPaintChangesAfterTraining(true);
+	}
+	
+	/**
+	 * Paint an untrained Model, train it and paint it again, which must not give the same pixels
+	 * @param heatmap Whether to draw the heatmap instead of the labels
+	 */
+	private static void assertPaintChangesAfterTraining(boolean heatmap) throws Exception {
+		System.setProperty("java.awt.headless", "true");
+		Model model = new Model(new EnvLoader("src/main/basic.env").getGrid(), 2000);
+		model.setSeed(0);
+		Environment env = new Environment(model, 64, 1);
+		env.setHeatmap(heatmap);
+		
+		int[] before = paint(env);
+		model.train();
+		int[] after = paint(env);
+		assertFalse(Arrays.equals(before, after), "Painting after training drew the same pixels");
+	}
+	
+	/**
+	 * Paint the whole Environment into an image
+	 * @param env Environment to paint
+	 * @return Pixels of the image
+	 */
+	private static int[] paint(Environment env) {
+		BufferedImage image = new BufferedImage(env.getWidth(), env.getHeight(), BufferedImage.TYPE_INT_RGB);
+		Graphics2D g2 = image.createGraphics();
+		env.paintComponent(g2);
+		g2.dispose();
+		return ((DataBufferInt) image.getRaster().getDataBuffer()).getData().clone();
+	}
+}
@@ -0,0 +1,68 @@
+/**
+ * FlatQTableTest
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Tests for the batched max and argmax of a flat Q-table
+ */
+
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class FlatQTableTest {
+	//Constants
+	private static final int STATES = 1003;		//Not a multiple of any vector length, so the tail is taken too
+	
+	/**
+	 * Batches must match taking each state one at a time, on values drawn from a few levels so ties are common
+	 */
+	@Test
+	public void batchesMatchSingleStates() {
+		FlatQTable qValues = createTable();
+		double[] maxes = new double[STATES];
+		int[] actions = new int[STATES];
+		double[] batchMaxes = new double[STATES + 1];
+		int[] batchActions = new int[STATES + 1];
+		for (int state = 0; state < STATES; state++) {
+			maxes[state] = qValues.max(state);
+			actions[state] = qValues.argmax(state);
+		}
+		
+		//Offset the output by one to check that the offset is used
+		qValues.max(0, STATES, batchMaxes, 1);
+		qValues.argmax(0, STATES, batchActions, 1);
+		assertArrayEquals(maxes, Arrays.copyOfRange(batchMaxes, 1, STATES + 1));
+		assertArrayEquals(actions, Arrays.copyOfRange(batchActions, 1, STATES + 1));
+	}
+	
+	/**
+	 * The Vector API batch must match the scalar batch, starting part way through the table
+	 * It is used directly, since FlatQTable only picks it on machines with vectors of four or more doubles
+	 */
+	@Test
+	public void vectorMatchesPairs() {
+		double[] values = createTable().getValues();
+		double[] pairs = new double[STATES - 7];
+		double[] vector = new double[STATES - 7];
+		FlatQTable.maxPairs(values, 7, STATES - 7, pairs, 0);
+		new VectorBatch().max(values, 7, STATES - 7, vector, 0);
+		assertArrayEquals(pairs, vector);
+	}
+	
+	/**
+	 * Create a table whose values are drawn from a few levels
+	 * @return Table of STATES states
+	 */
+	private static FlatQTable createTable() {
+		FlatQTable qValues = new FlatQTable(STATES, Model.NUM_ACTIONS);
+		double[] values = qValues.getValues();
+		Rng rng = new Rng(0);
+		for (int i = 0; i < values.length; i++)
+			values[i] = rng.nextInt(4) - 1;
+		return qValues;
+	}
+}
@@ -0,0 +1,58 @@
+/**
+ * HeatmapTest
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Tests for sizing and exporting heatmaps
+ */
+
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class HeatmapTest {
+	//Attributes
+	@TempDir
+	Path folder;			//Folder the images are written to
+	
+	/**
+	 * Small grids keep the cell size asked for, larger ones shrink cells and then share pixels between cells
+	 */
+	@Test
+	public void sizeFitsPixelBudget() {
+		assertEquals(8, Heatmap.getPixelsPerCell(16, 16, 8, Heatmap.MAX_EXPORT_PIXELS));
+		assertEquals(1, Heatmap.getCellsPerPixel(16, 16, Heatmap.MAX_EXPORT_PIXELS));
+		assertEquals(4, Heatmap.getPixelsPerCell(1000, 600, 8, Heatmap.MAX_EXPORT_PIXELS));
+		assertEquals(1, Heatmap.getCellsPerPixel(4096, 4096, Heatmap.MAX_EXPORT_PIXELS));
+		
+		//A 48000 x 48000 grid would be 384000 pixels on a side at 8 pixels per cell
+		assertEquals(1, Heatmap.getPixelsPerCell(48000, 48000, 8, Heatmap.MAX_EXPORT_PIXELS));
+		int cellsPerPixel = Heatmap.getCellsPerPixel(48000, 48000, Heatmap.MAX_EXPORT_PIXELS);
+		assertEquals(16, cellsPerPixel);
+		assertTrue((48000 + cellsPerPixel - 1) / cellsPerPixel <= Heatmap.MAX_EXPORT_PIXELS);
+	}
+	
+	/**
+	 * An exported grid too big for the cell size asked for is drawn with smaller cells
+	 */
+	@Test
+	public void exportShrinksLargeGrids() throws IOException {
+		System.setProperty("java.awt.headless", "true");
+		Model model = new Model(1000, 600, new int[] {0, 0}, new int[0][], 0);
+		Path file = folder.resolve("heatmap.png");
+		Heatmap.export(model, file.toString(), 8, true);
+		
+		BufferedImage image = ImageIO.read(file.toFile());
+		assertEquals(600 * 4, image.getWidth());
+		assertEquals(1000 * 4, image.getHeight());
+	}
+}
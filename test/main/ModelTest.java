@@ -0,0 +1,126 @@
+/**
+ * ModelTest
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Tests for training a Model
+ */
+
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class ModelTest {
+	//Constants
+	private static final long ALLOCATION_SLACK = 16 * 1024;		//Bytes a training run may allocate however many episodes it runs
+	
+	/**
+	 * Training ten times as many episodes must not allocate any more, since the inner loop is allocation-free
+	 */
+	@Test
+	public void trainingAllocationStaysFlat() throws Exception {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assertTrue(threads.isThreadAllocatedMemorySupported(), "Thread allocation counting is not supported");
+		threads.setThreadAllocatedMemoryEnabled(true);
+		Grid grid = new EnvLoader("src/main/basic.env").getGrid();
+		
+		//Warm up so the measured runs are compiled
+		train(threads, grid, 20000);
+		
+		long fewEpisodes = train(threads, grid, 1000);
+		long manyEpisodes = train(threads, grid, 10000);
+		assertTrue(manyEpisodes - fewEpisodes < ALLOCATION_SLACK, 
+				"1000 episodes allocated " + fewEpisodes + " bytes but 10000 allocated " + manyEpisodes);
+	}
+	
+	/**
+	 * The default step limit grows with the grid but must not overflow on huge grids
+	 */
+	@Test
+	public void defaultMaxStepsDoesNotOverflow() {
+		assertEquals(2560, Model.getDefaultMaxSteps(16, 16));
+		assertEquals(Integer.MAX_VALUE, Model.getDefaultMaxSteps(15000, 15000));
+	}
+	
+	/**
+	 * Paths followed on several threads at once must end the same way as when followed one at a time
+	 */
+	@Test
+	public void concurrentPathsMatchSequentialPaths() throws Exception {
+		Model model = new Model(new EnvLoader("src/main/basic.env").getGrid(), 0);
+		new ValueIteration(model, 1e-6).solveInPlace();
+		int[] states = model.getNonTerminalStates();
+		PathResult.Outcome[] expected = new PathResult.Outcome[states.length];
+		for (int i = 0; i < states.length; i++)
+			expected[i] = model.findPath(states[i] / model.getCols(), states[i] % model.getCols(), 1000).getOutcome();
+		
+		//Every thread follows every path many times, recording the first mismatch
+		AtomicReference<String> mismatch = new AtomicReference<String>();
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(() -> {
+				for (int repeat = 0; repeat < 200; repeat++) {
+					for (int i = 0; i < states.length; i++) {
+						PathResult.Outcome outcome = model.findPath(states[i] / model.getCols(), states[i] % model.getCols(), 1000).getOutcome();
+						if (outcome != expected[i])
+							mismatch.compareAndSet(null, "State " + states[i] + " ended with " + outcome + " instead of " + expected[i]);
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+		assertNull(mismatch.get(), mismatch.get());
+	}
+	
+	/**
+	 * Every step of the last run counts exactly one visit, on one thread or several, and no earlier run's visits remain
+	 */
+	@Test
+	public void visitsCountEveryStepOfTheLastRun() throws Exception {
+		Model model = new Model(new EnvLoader("src/main/basic.env").getGrid(), 2000);
+		model.setSeed(0);
+		model.train();
+		model.train();
+		assertEquals(model.getTrainingSteps(), sum(model.getVisits()));
+		
+		model.trainParallel(4);
+		assertEquals(model.getTrainingSteps(), sum(model.getVisits()));
+	}
+	
+	/**
+	 * Add up visit counts
+	 * @param visits Visit counts indexed by state
+	 * @return Total visits
+	 */
+	static long sum(int[] visits) {
+		long total = 0;
+		for (int count : visits)
+			total += count;
+		return total;
+	}
+	
+	/**
+	 * Train a new Model and count the bytes the thread allocated doing it
+	 * @param threads Bean to read the allocation count from
+	 * @param grid Grid to train on
+	 * @param episodes Number of episodes to train for
+	 * @return Bytes allocated by train()
+	 */
+	private static long train(com.sun.management.ThreadMXBean threads, Grid grid, int episodes) {
+		Model model = new Model(grid, episodes);
+		model.setSeed(0);
+		
+		long thread = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(thread);
+		model.train();
+		return threads.getThreadAllocatedBytes(thread) - before;
+	}
+}
@@ -0,0 +1,64 @@
+/**
+ * ShardedTrainerTest
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Tests for training a Model on shards
+ */
+
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class ShardedTrainerTest {
+	
+	/**
+	 * An exception in a shard must stop training and reach the caller
+	 */
+	@Test
+	public void shardFailureIsRethrown() throws Exception {
+		Model model = new Model(new EnvLoader("src/main/basic.env").getGrid(), 200);
+		model.setSeed(0);
+		ArithmeticException failure = new ArithmeticException("Failed in a shard");
+		model.setEpsilon((episode, visits) -> {
+			if (episode >= 60)
+				throw failure;
+			return 0.9;
+		});
+		
+		ShardedTrainer trainer = new ShardedTrainer(model, 2, 50, ShardedTrainer.MergeStrategy.AVERAGE);
+		IllegalStateException thrown = assertThrows(IllegalStateException.class, trainer::train);
+		
+		//The pool may wrap the exception in a copy made on the calling thread
+		Throwable cause = thrown.getCause();
+		while (cause != null && cause != failure)
+			cause = cause.getCause();
+		assertSame(failure, cause);
+	}
+	
+	/**
+	 * Every shard counts its own visits, which add up to one per step once training ends
+	 */
+	@Test
+	public void visitsCountEveryStep() throws Exception {
+		Model model = new Model(new EnvLoader("src/main/basic.env").getGrid(), 400);
+		model.setSeed(0);
+		ShardedTrainer trainer = new ShardedTrainer(model, 4, 50, ShardedTrainer.MergeStrategy.AVERAGE);
+		trainer.train();
+		trainer.train();
+		assertEquals(trainer.getTrainingSteps(), ModelTest.sum(model.getVisits()));
+	}
+	
+	/**
+	 * A trainer without threads or with an empty merge interval is rejected up front
+	 */
+	@Test
+	public void invalidSettingsAreRejected() throws Exception {
+		Model model = new Model(new EnvLoader("src/main/basic.env").getGrid(), 100);
+		assertThrows(IllegalArgumentException.class, () -> new ShardedTrainer(model, 0, 50, ShardedTrainer.MergeStrategy.AVERAGE));
+		assertThrows(IllegalArgumentException.class, () -> new ShardedTrainer(model, 2, 0, ShardedTrainer.MergeStrategy.MAX));
+	}
+}
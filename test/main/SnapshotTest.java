@@ -0,0 +1,131 @@
+/**
+ * SnapshotTest
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Tests for saving and loading Models in snapshot files
+ */
+
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SnapshotTest {
+	//Attributes
+	@TempDir
+	Path folder;			//Folder the snapshots are written to
+	
+	/**
+	 * A saved Model loads back with the same grid and Q-values, onto the heap or mapped
+	 */
+	@Test
+	public void roundTripKeepsGridAndQValues() throws IOException {
+		Model model = solvedModel();
+		String file = folder.resolve("basic.snap").toString();
+		Snapshot.save(model, file);
+		
+		for (boolean map : new boolean[] {false, true}) {
+			Model loaded = Snapshot.load(file, map, true);
+			assertEquals(model.getRows(), loaded.getRows());
+			assertEquals(model.getCols(), loaded.getCols());
+			assertEquals(model.getNumEpisodes(), loaded.getNumEpisodes());
+			assertArrayEquals(model.getCells(), loaded.getCells());
+			
+			QTable expected = model.getQValues();
+			QTable actual = loaded.getQValues();
+			for (int state = 0; state < expected.getNumStates(); state++)
+				for (int action = 0; action < Model.NUM_ACTIONS; action++)
+					assertEquals(expected.get(state, action), actual.get(state, action), "State " + state + " action " + action);
+		}
+	}
+	
+	/**
+	 * A mapped Model follows the same paths without the visit counts a trainable Model keeps
+	 */
+	@Test
+	public void mappedModelFindsPathsWithoutTrainingTables() throws IOException {
+		Model model = solvedModel();
+		String file = folder.resolve("basic.snap").toString();
+		Snapshot.save(model, file);
+		Model mapped = Snapshot.load(file, true, false);
+		
+		assertTrue(mapped.getQValues().isReadOnly());
+		assertNull(mapped.getVisits());
+		for (int state : model.getNonTerminalStates()) {
+			int row = state / model.getCols();
+			int col = state % model.getCols();
+			assertEquals(model.findPath(row, col, 1000).getOutcome(), mapped.findPath(row, col, 1000).getOutcome());
+		}
+		assertArrayEquals(model.getTransitions(), mapped.getTransitions());
+	}
+	
+	/**
+	 * Changing a single byte of a snapshot fails its checksum
+	 */
+	@Test
+	public void corruptedSnapshotFailsChecksum() throws IOException {
+		Path file = folder.resolve("basic.snap");
+		Snapshot.save(solvedModel(), file.toString());
+		
+		//Flip the last byte of the Q-values, just before the checksum
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[bytes.length - Long.BYTES - 1] ^= 1;
+		Files.write(file, bytes);
+		
+		IOException heap = assertThrows(IOException.class, () -> Snapshot.load(file.toString()));
+		assertTrue(heap.getMessage().contains("checksum"), heap.getMessage());
+		assertThrows(IOException.class, () -> Snapshot.load(file.toString(), true, true));
+	}
+	
+	/**
+	 * Sizes in a header that overflow or run past the end of the file are rejected before anything is allocated
+	 */
+	@Test
+	public void invalidHeaderSizesAreRejected() throws IOException {
+		//100000 x 100000 cells wraps around as an int
+		Path overflow = writeHeader("overflow.snap", 100000, 100000);
+		IOException thrown = assertThrows(IOException.class, () -> Snapshot.load(overflow.toString()));
+		assertTrue(thrown.getMessage().contains("too many cells"), thrown.getMessage());
+		
+		//A header promising a million cells with no cells after it
+		Path truncated = writeHeader("truncated.snap", 1000, 1000);
+		thrown = assertThrows(IOException.class, () -> Snapshot.load(truncated.toString(), true, false));
+		assertTrue(thrown.getMessage().contains("shorter than its header"), thrown.getMessage());
+	}
+	
+	/**
+	 * Write a snapshot file holding only a header
+	 * @param name Name of the file in the test folder
+	 * @param rows Rows in the header
+	 * @param cols Columns in the header
+	 * @return Path of the file
+	 */
+	private Path writeHeader(String name, int rows, int cols) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(6 * Integer.BYTES).order(Snapshot.ORDER);
+		header.putInt(Snapshot.MAGIC).putInt(Snapshot.VERSION).putInt(rows).putInt(cols).putInt(100).putInt(Model.NUM_ACTIONS);
+		Path file = folder.resolve(name);
+		Files.write(file, header.array());
+		return file;
+	}
+	
+	/**
+	 * Get a Model of the basic environment with a solved Q-table
+	 * @return Solved Model
+	 */
+	private static Model solvedModel() throws IOException {
+		Model model = new Model(new EnvLoader("src/main/basic.env").getGrid(), 1000);
+		new ValueIteration(model, 1e-6).solveInPlace();
+		return model;
+	}
+}
@@ -0,0 +1,97 @@
+/**
+ * TrainTest
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Tests for the headless training entry point, each run in its own JVM
+ */
+
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class TrainTest {
+	//Attributes
+	@TempDir
+	Path folder;			//Folder the environment and class log are written to
+	
+	/**
+	 * Training prints a summary that a strict JSON parser accepts, without loading any AWT or Swing class
+	 */
+	@Test
+	public void summaryParsesWithoutLoadingAwt() throws Exception {
+		Path classLog = folder.resolve("classes.log");
+		String[] result = run(Arrays.asList("-Xlog:class+load=info:file=" + classLog), 
+				writeEnv(), "--episodes", "200", "--seed", "0");
+		assertEquals("0", result[0], result[2]);
+		
+		JsonNode summary = new ObjectMapper().readTree(result[1]);
+		assertEquals(3, summary.get("rows").asInt());
+		assertEquals(4, summary.get("cols").asInt());
+		assertEquals("qlearning", summary.get("algorithm").asText());
+		assertTrue(summary.get("updates").asLong() > 0);
+		assertTrue(summary.get("updatesPerSecond").isNumber() || summary.get("updatesPerSecond").isNull());
+		
+		for (String line : Files.readAllLines(classLog))
+			assertFalse(line.contains(" java.awt.") || line.contains(" javax.swing."), line);
+	}
+	
+	/**
+	 * Fewer than one thread is a usage error rather than a crash
+	 */
+	@Test
+	public void zeroThreadsIsRejected() throws Exception {
+		String[] result = run(new ArrayList<String>(), writeEnv(), "--algorithm", "sharded", "--threads", "0");
+		assertEquals("2", result[0], result[2]);
+		assertTrue(result[2].contains("Usage"), result[2]);
+		assertEquals("", result[1]);
+	}
+	
+	/**
+	 * Write a small environment file
+	 * @return Name of the file
+	 */
+	private String writeEnv() throws IOException {
+		Path file = folder.resolve("small.env");
+		Files.write(file, "100\n..#.\n....\n.#.g\n".getBytes(StandardCharsets.US_ASCII));
+		return file.toString();
+	}
+	
+	/**
+	 * Run Train in a new JVM on the test's class path
+	 * @param jvmArgs Options for the JVM
+	 * @param args Arguments to Train
+	 * @return Exit code, standard out and standard error
+	 */
+	private String[] run(List<String> jvmArgs, String... args) throws Exception {
+		List<String> command = new ArrayList<String>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(jvmArgs);
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add("main.Train");
+		command.addAll(Arrays.asList(args));
+		
+		Path out = folder.resolve("out.txt");
+		Path err = folder.resolve("err.txt");
+		Process process = new ProcessBuilder(command).redirectOutput(out.toFile()).redirectError(err.toFile()).start();
+		int code = process.waitFor();
+		return new String[] {String.valueOf(code), Files.readString(out).trim(), Files.readString(err)};
+	}
+}
@@ -0,0 +1,80 @@
+/**
+ * VectorBatch
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Batched max of a four-action Q-table with the incubating Vector API
+ */
+
+package main;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+final class VectorBatch implements FlatQTable.MaxBatch {
+	/*
+	 * Kept out of src in its own source set, the only one compiled with --add-modules jdk.incubator.vector, 
+	 * so src still builds with plain javac. FlatQTable loads it by name once it has found the module
+	 *
+	 * The actions of a state are side by side, so each action of LANES states is gathered into its own
+	 * vector. The four vectors are then compared lane by lane, one state per lane
+	 *
+	 * There is no argmax: blending the action of each lane and narrowing it to an int took as long as
+	 * FlatQTable.argmaxPairs in ArgmaxBenchmark, however the lanes were picked
+	 */
+	
+	//Constants
+	private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+	private static final int LANES = DOUBLES.length();					//States compared at once
+	private static final int[] ACTION_OFFSETS = createOffsets();		//Offset of each lane's state from the first state's
+	
+	/**
+	 * Create a batch, loaded by name from FlatQTable
+	 */
+	VectorBatch() {}
+	
+	/**
+	 * Get the offset of each lane's first action from the first state's
+	 * @return Offsets, numActions apart
+	 */
+	private static int[] createOffsets() {
+		int[] offsets = new int[LANES];
+		for (int lane = 0; lane < LANES; lane++)
+			offsets[lane] = lane * 4;
+		return offsets;
+	}
+	
+	/**
+	 * Get whether vectors hold enough states to beat the scalar batch, which needs at least 256-bit vectors
+	 * @return Whether to use the vector batch
+	 */
+	static boolean isUseful() {
+		return LANES >= 4;
+	}
+	
+	/**
+	 * Gather one action of a run of LANES states
+	 * @param values Q-values indexed by state * 4 + action
+	 * @param state First state of the run
+	 * @param action Index of the action
+	 * @return Q-value of the action in each state
+	 */
+	private static DoubleVector gather(double[] values, int state, int action) {
+		return DoubleVector.fromArray(DOUBLES, values, state * 4 + action, ACTION_OFFSETS, 0);
+	}
+	
+	/**
+	 * Get the greatest Q-value of each state in a run, the same as FlatQTable.maxPairs
+	 */
+	@Override
+	public void max(double[] values, int start, int count, double[] out, int offset) {
+		int vectorCount = count - count % LANES;
+		for (int i = 0; i < vectorCount; i += LANES) {
+			int state = start + i;
+			DoubleVector first = gather(values, state, 0).lanewise(VectorOperators.MAX, gather(values, state, 1));
+			DoubleVector second = gather(values, state, 2).lanewise(VectorOperators.MAX, gather(values, state, 3));
+			first.lanewise(VectorOperators.MAX, second).intoArray(out, offset + i);
+		}
+		FlatQTable.maxPairs(values, start + vectorCount, count - vectorCount, out, offset + vectorCount);
+	}
+}